@@ -0,0 +1,41 @@
+package com.adventofcode.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.adventofcode.generators.Generators;
+import com.adventofcode.util.Constants.Day;
+
+/**
+ * Provides the inputs the benchmarks run against.
+ *
+ * A numeric size is handed to the day's input generator, always with the
+ * same seed, so results are comparable between runs. Any other size names
+ * a file in the directory given by the aoc.inputs system property
+ * (defaults to "inputs"), with one subdirectory per day: e.g.
+ * inputs/day6/real.txt. Puzzle inputs cannot be redistributed, so this
+ * directory is not checked in.
+ */
+final class BenchmarkInputs {
+    private static final long SEED = 2024;
+
+    private BenchmarkInputs() {
+        // Utility class
+    }
+
+    static String load(Day day, String size) {
+        if (size.chars().allMatch(Character::isDigit))
+            return Generators.INSTANCE.get(day).generate(Integer.parseInt(size), SEED);
+
+        Path directory = Path.of(System.getProperty("aoc.inputs", "inputs"));
+        Path file = directory.resolve("day" + day.toInteger()).resolve(size + ".txt");
+
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the input for " + day + " at " + file, e);
+        }
+    }
+}
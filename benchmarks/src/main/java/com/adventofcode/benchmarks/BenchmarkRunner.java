@@ -0,0 +1,30 @@
+package com.adventofcode.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line
+ * options, and always adds the GC profiler, so that allocation rates are
+ * reported along with the timings.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SolverBenchmark -p puzzle=6.2 -p size=small,large
+ * </pre>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var commandLine = new CommandLineOptions(args);
+
+        var options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.adventofcode.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.solutions.ParsingSolver;
+import com.adventofcode.util.Constants.Day;
+
+/**
+ * Parses the input of the days with a separate parsing step, which is the
+ * work skipped when the parsed input is found in cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    // Days implementing ParsingSolver
+    @Param({ "6", "8", "10", "12", "15", "16" })
+    public int day;
+
+    // Size of the generated input, or name of an input file, see
+    // BenchmarkInputs. What the size counts depends on the day.
+    @Param({ "25", "50", "100" })
+    public String size;
+
+    private ParsingSolver<?, ?, ?> solver;
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Day puzzleDay = Day.fromInteger(day);
+
+        if (!(SolverRegistry.INSTANCE.get(puzzleDay) instanceof ParsingSolver<?, ?, ?> parsingSolver))
+            throw new IllegalArgumentException(puzzleDay + " has no separate parsing step");
+
+        solver = parsingSolver;
+        input = BenchmarkInputs.load(puzzleDay, size);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return solver.parse(input);
+    }
+}
@@ -0,0 +1,68 @@
+package com.adventofcode.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.solutions.Solver;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Solves one part of a puzzle from its raw text, parsing included, the
+ * same way a request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    // <day>.<part>, for every part that is implemented
+    @Param({ "1.1", "1.2", "2.1", "2.2", "3.1", "3.2", "4.1", "4.2", "5.1", "5.2",
+            "6.1", "6.2", "7.1", "7.2", "8.1", "8.2", "9.1", "9.2", "10.1", "10.2",
+            "11.1", "11.2", "12.1", "12.2", "13.1", "13.2", "14.1", "14.2", "15.1", "15.2",
+            "16.1", "16.2", "17.1", "18.1", "18.2", "19.1", "19.2" })
+    public String puzzle;
+
+    // Size of the generated input, or name of an input file, see
+    // BenchmarkInputs. What the size counts depends on the day.
+    @Param({ "25", "50", "100" })
+    public String size;
+
+    private Solver<?, ?> solver;
+    private Part part;
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dayAndPart = puzzle.split("\\.");
+        Day day = Day.fromInteger(Integer.parseInt(dayAndPart[0]));
+
+        solver = SolverRegistry.INSTANCE.get(day);
+        part = Part.fromInteger(Integer.parseInt(dayAndPart[1]));
+        input = BenchmarkInputs.load(day, size);
+    }
+
+    @Benchmark
+    public Object solve() {
+        return switch (part) {
+            case PART_1 -> solver.solvePart1(input);
+            case PART_2 -> solver.solvePart2(input);
+        };
+    }
+}
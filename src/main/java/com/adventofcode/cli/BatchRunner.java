@@ -0,0 +1,255 @@
+package com.adventofcode.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.adventofcode.service.BatchResult;
+import com.adventofcode.service.PuzzleInput;
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.solutions.Solver;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Solves a directory of puzzle inputs from the command line, without
+ * starting Quarkus. Only the solvers and the JDK are needed:
+ *
+ * <pre>
+ * java -cp target/classes com.adventofcode.cli.BatchRunner inputs --workers 4 --format json
+ * </pre>
+ *
+ * Files named day6.txt are solved for both parts, files named
+ * day6_part2.txt only for that part. Other files are ignored. The exit
+ * status is 1 if any part could not be solved.
+ */
+public class BatchRunner {
+    private static final Pattern FILE_NAME = Pattern.compile("day(\\d+)(?:_part([12]))?(?:\\.\\w+)?");
+    private static final String USAGE = "Usage: BatchRunner <directory> [--workers N] [--format csv|json] [--output FILE]";
+
+    enum Format {
+        CSV, JSON
+    }
+
+    record Job(Day day, Part part, Path file) {
+    }
+
+    public static void main(String[] args) {
+        Path directory = null;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Format format = Format.CSV;
+        Path output = null;
+
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "--workers" -> workers = Integer.parseInt(args[++i]);
+                    case "--format" -> format = Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    case "--output" -> output = Path.of(args[++i]);
+                    default -> {
+                        if (directory != null || args[i].startsWith("--"))
+                            throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                        directory = Path.of(args[i]);
+                    }
+                }
+            }
+
+            if (directory == null)
+                throw new IllegalArgumentException("Missing input directory");
+            if (workers < 1)
+                throw new IllegalArgumentException("There must be at least one worker");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        List<BatchResult> results = run(findJobs(directory), workers);
+        String report = format == Format.CSV ? toCsv(results) : toJson(results);
+
+        try {
+            if (output != null) {
+                Files.writeString(output, report, StandardCharsets.UTF_8);
+            } else {
+                System.out.print(report);
+                System.out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (results.stream().anyMatch(result -> result.error() != null))
+            System.exit(1);
+    }
+
+    /**
+     * Lists the inputs of the directory that match the naming convention,
+     * ordered by day and then by part.
+     */
+    static List<Job> findJobs(Path directory) {
+        List<Job> jobs = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                int dayNumber = matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+                if (dayNumber < 1 || dayNumber > Day.values().length)
+                    return;
+
+                Day day = Day.fromInteger(dayNumber);
+                if (matcher.group(2) != null) {
+                    jobs.add(new Job(day, Part.fromInteger(Integer.parseInt(matcher.group(2))), file));
+                } else {
+                    for (Part part : Part.values()) {
+                        jobs.add(new Job(day, part, file));
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // A file for a single part takes precedence over one for both parts
+        jobs.sort(Comparator.comparing(Job::day).thenComparing(Job::part)
+                .thenComparing(job -> !job.file().getFileName().toString().contains("_part")));
+        List<Job> unique = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Job last = unique.isEmpty() ? null : unique.getLast();
+            if (last == null || last.day() != job.day() || last.part() != job.part())
+                unique.add(job);
+        }
+
+        return unique;
+    }
+
+    /**
+     * Solves every job, at most the given number at a time. A failing job
+     * does not stop the others, its error is reported in its result instead.
+     */
+    static List<BatchResult> run(List<Job> jobs, int workers) {
+        List<Future<BatchResult>> futures = new ArrayList<>(jobs.size());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (Job job : jobs) {
+                futures.add(executor.submit(() -> solve(job)));
+            }
+
+            List<BatchResult> results = new ArrayList<>(futures.size());
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            // solve reports its failures in the result, only errors the JVM
+            // cannot recover from, e.g. OutOfMemoryError, get here
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static BatchResult solve(Job job) {
+        long startTime = System.nanoTime();
+
+        try {
+            Solver<?, ?> solver = SolverRegistry.INSTANCE.get(job.day());
+            String input = PuzzleInput.fromFile(job.file()).text();
+
+            Object answer = switch (job.part()) {
+                case PART_1 -> solver.solvePart1(input);
+                case PART_2 -> solver.solvePart2(input);
+            };
+
+            return new BatchResult(job.day().toInteger(), job.part().toInteger(), String.valueOf(answer), null,
+                    System.nanoTime() - startTime);
+        } catch (RuntimeException | StackOverflowError e) {
+            // Deep inputs can overflow the stack of the recursive solvers,
+            // which only concerns this job
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return new BatchResult(job.day().toInteger(), job.part().toInteger(), null, error,
+                    System.nanoTime() - startTime);
+        }
+    }
+
+    static String toCsv(List<BatchResult> results) {
+        StringBuilder csv = new StringBuilder("day,part,answer,error,elapsed_nanos\n");
+
+        for (var result : results) {
+            csv.append(result.day()).append(',')
+                    .append(result.part()).append(',')
+                    .append(csvField(result.answer())).append(',')
+                    .append(csvField(result.error())).append(',')
+                    .append(result.elapsedNanos()).append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    static String toJson(List<BatchResult> results) {
+        StringBuilder json = new StringBuilder("[\n");
+
+        for (int i = 0; i < results.size(); ++i) {
+            var result = results.get(i);
+            json.append("  {\"day\": ").append(result.day())
+                    .append(", \"part\": ").append(result.part())
+                    .append(", \"answer\": ").append(jsonString(result.answer()))
+                    .append(", \"error\": ").append(jsonString(result.error()))
+                    .append(", \"elapsedNanos\": ").append(result.elapsedNanos())
+                    .append(i + 1 < results.size() ? "},\n" : "}\n");
+        }
+
+        return json.append("]\n").toString();
+    }
+
+    private static String csvField(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+            return value;
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        if (value == null)
+            return "null";
+
+        StringBuilder escaped = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+
+        return escaped.append('"').toString();
+    }
+}
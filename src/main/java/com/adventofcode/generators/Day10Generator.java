@@ -0,0 +1,37 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the side of the square map. The map is split into blocks which
+ * are either random noise or slopes going up in some direction, so there
+ * are plenty of hiking trails of every shape.
+ */
+public enum Day10Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int BLOCK = 10;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        int blocks = (size + BLOCK - 1) / BLOCK;
+        int[][] kinds = new int[blocks][blocks];
+
+        for (int[] row : kinds) {
+            for (int i = 0; i < row.length; ++i)
+                row[i] = random.nextInt(5);
+        }
+
+        return Grids.generate(size, size, random.nextLong(), (cellRandom, x, y) -> {
+            int height = switch (kinds[y / BLOCK][x / BLOCK]) {
+                case 0 -> x + y;
+                case 1 -> x - y + 10 * size;
+                case 2 -> y - x + 10 * size;
+                case 3 -> -x - y + 20 * size;
+                default -> cellRandom.nextInt(10);
+            };
+            return (char) ('0' + Math.floorMod(height, 10));
+        });
+    }
+}
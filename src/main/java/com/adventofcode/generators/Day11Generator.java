@@ -0,0 +1,24 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of stones in the initial arrangement.
+ */
+public enum Day11Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 7);
+
+        for (int i = 0; i < size; ++i) {
+            if (i > 0)
+                sb.append(' ');
+            sb.append(random.nextInt(1_000_000));
+        }
+
+        return sb.append('\n').toString();
+    }
+}
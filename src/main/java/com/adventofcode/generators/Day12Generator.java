@@ -0,0 +1,35 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the side of the square garden. Plots are painted as overlapping
+ * rectangles, so regions come in all sorts of shapes, holes included,
+ * rather than as single scattered plots.
+ */
+public enum Day12Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        char[][] grid = Grids.filled(size, size, 'A');
+
+        int rectangles = Math.max(1, size * size / 16);
+        for (int i = 0; i < rectangles; ++i) {
+            int width = 1 + random.nextInt(8);
+            int height = 1 + random.nextInt(8);
+            int left = random.nextInt(size);
+            int top = random.nextInt(size);
+            char plant = (char) ('A' + random.nextInt(26));
+
+            for (int y = top; y < Math.min(size, top + height); ++y) {
+                for (int x = left; x < Math.min(size, left + width); ++x) {
+                    grid[y][x] = plant;
+                }
+            }
+        }
+
+        return Grids.toString(grid);
+    }
+}
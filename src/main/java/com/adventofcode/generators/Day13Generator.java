@@ -0,0 +1,44 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of claw machines. About half of the prizes can be
+ * won.
+ */
+public enum Day13Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 80);
+
+        for (int i = 0; i < size; ++i) {
+            int aX = 10 + random.nextInt(90);
+            int aY = 10 + random.nextInt(90);
+            int bX = 10 + random.nextInt(90);
+            int bY = 10 + random.nextInt(90);
+
+            int prizeX;
+            int prizeY;
+            if (random.nextBoolean()) {
+                int pressesA = random.nextInt(101);
+                int pressesB = random.nextInt(101);
+                prizeX = pressesA * aX + pressesB * bX;
+                prizeY = pressesA * aY + pressesB * bY;
+            } else {
+                prizeX = 1000 + random.nextInt(19000);
+                prizeY = 1000 + random.nextInt(19000);
+            }
+
+            if (i > 0)
+                sb.append('\n');
+            sb.append("Button A: X+").append(aX).append(", Y+").append(aY).append('\n');
+            sb.append("Button B: X+").append(bX).append(", Y+").append(bY).append('\n');
+            sb.append("Prize: X=").append(prizeX).append(", Y=").append(prizeY).append('\n');
+        }
+
+        return sb.toString();
+    }
+}
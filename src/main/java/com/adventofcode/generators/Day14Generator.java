@@ -0,0 +1,28 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of robots. The space they move in is fixed by the
+ * puzzle at 101x103 tiles.
+ */
+public enum Day14Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int WIDTH = 101;
+    private static final int HEIGHT = 103;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 20);
+
+        for (int i = 0; i < size; ++i) {
+            sb.append("p=").append(random.nextInt(WIDTH)).append(',').append(random.nextInt(HEIGHT))
+                    .append(" v=").append(random.nextInt(201) - 100).append(',').append(random.nextInt(201) - 100)
+                    .append('\n');
+        }
+
+        return sb.toString();
+    }
+}
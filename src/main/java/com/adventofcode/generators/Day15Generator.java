@@ -0,0 +1,48 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the side of the square warehouse. As in the real input, the
+ * robot moves 400 times per unit of side, in lines of 1000 moves.
+ */
+public enum Day15Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final String MOVES = "^>v<";
+    private static final int LINE_LENGTH = 1000;
+
+    @Override
+    public String generate(int size, long seed) {
+        if (size < 3)
+            throw new IllegalArgumentException("The warehouse must be at least 3x3");
+
+        Random random = new Random(seed);
+        char[][] grid = Grids.filled(size, size, '.');
+
+        for (int y = 0; y < size; ++y) {
+            for (int x = 0; x < size; ++x) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                int roll = random.nextInt(100);
+
+                if (border || roll < 5)
+                    grid[y][x] = '#';
+                else if (roll < 30)
+                    grid[y][x] = 'O';
+            }
+        }
+        grid[size / 2][size / 2] = '@';
+
+        StringBuilder sb = new StringBuilder(Grids.toString(grid));
+        sb.append('\n');
+
+        int moves = 400 * size;
+        for (int i = 0; i < moves; ++i) {
+            sb.append(MOVES.charAt(random.nextInt(4)));
+            if ((i + 1) % LINE_LENGTH == 0 || i == moves - 1)
+                sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
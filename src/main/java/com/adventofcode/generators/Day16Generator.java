@@ -0,0 +1,75 @@
+package com.adventofcode.generators;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Size is the side of the square maze, rounded down to an odd number.
+ *
+ * The maze is carved as a perfect maze (a single path between any two
+ * tiles), after which a few extra walls are knocked down, so that there
+ * are several paths to choose from, some of them equally good.
+ */
+public enum Day16Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int[][] STEPS = { { 0, -2 }, { 2, 0 }, { 0, 2 }, { -2, 0 } };
+
+    @Override
+    public String generate(int size, long seed) {
+        int side = size % 2 == 0 ? size - 1 : size;
+        if (side < 5)
+            throw new IllegalArgumentException("The maze must be at least 5x5");
+
+        Random random = new Random(seed);
+        char[][] grid = Grids.filled(side, side, '#');
+
+        // Depth-first carving over the tiles with odd coordinates, without
+        // recursion so that large mazes do not overflow the stack
+        Deque<int[]> stack = new ArrayDeque<>();
+        grid[side - 2][1] = '.';
+        stack.push(new int[] { 1, side - 2 });
+
+        while (!stack.isEmpty()) {
+            int[] current = stack.peek();
+            int x = current[0];
+            int y = current[1];
+
+            int start = random.nextInt(4);
+            boolean carved = false;
+            for (int i = 0; i < 4 && !carved; ++i) {
+                int[] step = STEPS[(start + i) % 4];
+                int nextX = x + step[0];
+                int nextY = y + step[1];
+
+                if (nextX > 0 && nextX < side - 1 && nextY > 0 && nextY < side - 1
+                        && grid[nextY][nextX] == '#') {
+                    grid[y + step[1] / 2][x + step[0] / 2] = '.';
+                    grid[nextY][nextX] = '.';
+                    stack.push(new int[] { nextX, nextY });
+                    carved = true;
+                }
+            }
+
+            if (!carved)
+                stack.pop();
+        }
+
+        // Walls between two open tiles can be removed to create loops
+        for (int y = 1; y < side - 1; ++y) {
+            for (int x = 1; x < side - 1; ++x) {
+                boolean betweenColumns = x % 2 == 0 && y % 2 == 1;
+                boolean betweenRows = x % 2 == 1 && y % 2 == 0;
+
+                if (grid[y][x] == '#' && (betweenColumns || betweenRows) && random.nextInt(10) == 0)
+                    grid[y][x] = '.';
+            }
+        }
+
+        grid[side - 2][1] = 'S';
+        grid[1][side - 2] = 'E';
+
+        return Grids.toString(grid);
+    }
+}
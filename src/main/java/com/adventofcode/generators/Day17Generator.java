@@ -0,0 +1,34 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of values the program outputs, at most 10 since the
+ * registers are ints. The program has the same shape as the real ones:
+ * it shifts register A by three bits per iteration until it reaches 0.
+ */
+public enum Day17Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int MAX_OUTPUTS = 10;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        int outputs = Math.max(1, Math.min(size, MAX_OUTPUTS));
+
+        // A number with exactly that many octal digits
+        int low = outputs == 1 ? 0 : 1 << (3 * (outputs - 1));
+        int high = 1 << (3 * outputs);
+        int registerA = low + random.nextInt(high - low);
+
+        int firstXor = 1 + random.nextInt(7);
+        int secondXor = 1 + random.nextInt(7);
+
+        return "Register A: " + registerA + '\n'
+                + "Register B: 0\n"
+                + "Register C: 0\n"
+                + '\n'
+                + "Program: 2,4,1," + firstXor + ",7,5,1," + secondXor + ",4,0,0,3,5,5,3,0\n";
+    }
+}
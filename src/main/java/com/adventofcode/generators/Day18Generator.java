@@ -0,0 +1,72 @@
+package com.adventofcode.generators;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The memory space is fixed by the puzzle at 71x71, so the size is
+ * ignored: every byte except the start and the exit eventually falls, in
+ * random order, which guarantees that part 2 has an answer. The first
+ * 1024 bytes, used by part 1, always leave a path open.
+ */
+public enum Day18Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int SIDE = 71;
+    private static final int BYTES_PART_1 = 1024;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+
+        List<Integer> cells = new ArrayList<>(SIDE * SIDE);
+        for (int cell = 1; cell < SIDE * SIDE - 1; ++cell)
+            cells.add(cell);
+
+        do {
+            Collections.shuffle(cells, random);
+        } while (!isExitReachable(cells.subList(0, BYTES_PART_1)));
+
+        StringBuilder sb = new StringBuilder(cells.size() * 6);
+        for (int cell : cells)
+            sb.append(cell % SIDE).append(',').append(cell / SIDE).append('\n');
+
+        return sb.toString();
+    }
+
+    private static boolean isExitReachable(List<Integer> corrupted) {
+        boolean[] blocked = new boolean[SIDE * SIDE];
+        corrupted.forEach(cell -> blocked[cell] = true);
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        blocked[0] = true;
+        queue.add(0);
+
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            if (cell == SIDE * SIDE - 1)
+                return true;
+
+            int x = cell % SIDE;
+            int y = cell / SIDE;
+            int[] neighbours = {
+                    x > 0 ? cell - 1 : -1,
+                    x < SIDE - 1 ? cell + 1 : -1,
+                    y > 0 ? cell - SIDE : -1,
+                    y < SIDE - 1 ? cell + SIDE : -1 };
+
+            for (int neighbour : neighbours) {
+                if (neighbour >= 0 && !blocked[neighbour]) {
+                    blocked[neighbour] = true;
+                    queue.add(neighbour);
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.adventofcode.generators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Size is the number of designs. Possible designs are made by joining
+ * random towels. Impossible ones start with a colour no towel starts
+ * with, like the real input, where one colour has no towel of its own.
+ */
+public enum Day19Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final String COLOURS = "wubr";
+    private static final char MISSING_COLOUR = 'g';
+    private static final int TOWELS = 400;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+
+        Set<String> towels = new LinkedHashSet<>();
+        for (char colour : COLOURS.toCharArray())
+            towels.add(String.valueOf(colour));
+        while (towels.size() < TOWELS) {
+            int length = 2 + random.nextInt(7);
+            StringBuilder towel = new StringBuilder(length);
+            for (int i = 0; i < length; ++i)
+                towel.append(COLOURS.charAt(random.nextInt(COLOURS.length())));
+            towels.add(towel.toString());
+        }
+
+        List<String> towelList = new ArrayList<>(towels);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.join(", ", towelList)).append("\n\n");
+
+        for (int i = 0; i < size; ++i) {
+            StringBuilder design = new StringBuilder();
+            if (random.nextInt(10) == 0)
+                design.append(MISSING_COLOUR);
+
+            int targetLength = 40 + random.nextInt(21);
+            while (design.length() < targetLength)
+                design.append(towelList.get(random.nextInt(towelList.size())));
+
+            sb.append(design).append('\n');
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of lines, i.e. of locations in each list.
+ */
+public enum Day1Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 14);
+
+        for (int i = 0; i < size; ++i) {
+            // Five digits, like the real input, so that both lists
+            // share a few locations
+            sb.append(10000 + random.nextInt(90000))
+                    .append("   ")
+                    .append(10000 + random.nextInt(90000))
+                    .append('\n');
+        }
+
+        return sb.toString();
+    }
+}
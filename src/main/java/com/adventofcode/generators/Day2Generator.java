@@ -0,0 +1,39 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of reports. About half of them are safe.
+ */
+public enum Day2Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 20);
+
+        for (int i = 0; i < size; ++i) {
+            int levels = 5 + random.nextInt(4);
+            int direction = random.nextBoolean() ? 1 : -1;
+            int level = direction > 0 ? 1 + random.nextInt(40) : 60 + random.nextInt(40);
+            boolean safe = random.nextBoolean();
+
+            for (int j = 0; j < levels; ++j) {
+                if (j > 0)
+                    sb.append(' ');
+                sb.append(level);
+
+                int step = 1 + random.nextInt(3);
+                // Unsafe reports get a single bad step, which the dampener
+                // of part 2 can sometimes remove
+                if (!safe && j == levels / 2)
+                    step = random.nextBoolean() ? 0 : 4 + random.nextInt(3);
+                level += direction * step;
+            }
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
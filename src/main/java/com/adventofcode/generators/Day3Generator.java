@@ -0,0 +1,57 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of instructions, valid or not, hidden among the
+ * corrupted memory.
+ */
+public enum Day3Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final String NOISE = "!@#$%^&*()[]{}<>+-?,;:'/ ~_selectwhyfromhow";
+    private static final int LINE_LENGTH = 3000;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 16);
+        int lineStart = 0;
+
+        for (int i = 0; i < size; ++i) {
+            int noise = random.nextInt(8);
+            for (int j = 0; j < noise; ++j)
+                sb.append(NOISE.charAt(random.nextInt(NOISE.length())));
+
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                sb.append("do()");
+            } else if (kind == 1) {
+                sb.append("don't()");
+            } else if (kind < 5) {
+                // Almost an instruction
+                sb.append(random.nextBoolean() ? "mul[" : "mul(")
+                        .append(random.nextInt(1000))
+                        .append(random.nextBoolean() ? " ," : ",")
+                        .append(random.nextInt(1000))
+                        .append(')');
+            } else {
+                sb.append("mul(")
+                        .append(1 + random.nextInt(999))
+                        .append(',')
+                        .append(1 + random.nextInt(999))
+                        .append(')');
+            }
+
+            if (sb.length() - lineStart > LINE_LENGTH) {
+                sb.append('\n');
+                lineStart = sb.length();
+            }
+        }
+
+        if (sb.length() > lineStart)
+            sb.append('\n');
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.adventofcode.generators;
+
+/**
+ * Size is the side of the square grid of letters.
+ */
+public enum Day4Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final String LETTERS = "XMAS";
+
+    @Override
+    public String generate(int size, long seed) {
+        return Grids.generate(size, size, seed, (random, x, y) -> LETTERS.charAt(random.nextInt(4)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.adventofcode.generators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Size is the number of updates. The rules always describe a single total
+ * order of the pages, with a rule for every pair of them, so every update
+ * has exactly one correct ordering, as in the real input.
+ */
+public enum Day5Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int PAGES = 49;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+
+        // Position in this list is the position in the order
+        List<Integer> order = new ArrayList<>(IntStream.range(10, 100).boxed().toList());
+        Collections.shuffle(order, random);
+        order = order.subList(0, PAGES);
+
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < PAGES; ++i) {
+            for (int j = i + 1; j < PAGES; ++j) {
+                rules.add(order.get(i) + "|" + order.get(j));
+            }
+        }
+        Collections.shuffle(rules, random);
+        rules.forEach(rule -> sb.append(rule).append('\n'));
+
+        sb.append('\n');
+
+        for (int i = 0; i < size; ++i) {
+            // Always odd, so that there is a middle page
+            int length = 5 + 2 * random.nextInt(10);
+
+            List<Integer> positions = new ArrayList<>(IntStream.range(0, PAGES).boxed().toList());
+            Collections.shuffle(positions, random);
+            positions = new ArrayList<>(positions.subList(0, length));
+
+            // About half of the updates are already in order
+            if (random.nextBoolean())
+                Collections.sort(positions);
+
+            for (int j = 0; j < length; ++j) {
+                if (j > 0)
+                    sb.append(',');
+                sb.append(order.get(positions.get(j)));
+            }
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
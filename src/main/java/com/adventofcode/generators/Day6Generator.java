@@ -0,0 +1,92 @@
+package com.adventofcode.generators;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Size is the side of the square lab. Obstacles are scattered at random,
+ * and the guard is placed somewhere it eventually walks out of the lab
+ * from, since part 1 never ends otherwise.
+ */
+public enum Day6Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final int MAX_ATTEMPTS = 10_000;
+
+    @Override
+    public String generate(int size, long seed) {
+        if (size < 2)
+            throw new IllegalArgumentException("The lab must be at least 2x2");
+
+        Random random = new Random(seed);
+        char[][] grid = Grids.filled(size, size, '.');
+
+        // About the density of the real input
+        for (int y = 0; y < size; ++y) {
+            for (int x = 0; x < size; ++x) {
+                if (random.nextInt(60) == 0)
+                    grid[y][x] = '#';
+            }
+        }
+
+        // Prefer guards that walk for a while before leaving
+        int[] fallback = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; ++attempt) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+
+            if (grid[y][x] == '#')
+                continue;
+
+            int steps = walkOut(grid, x, y);
+            if (steps >= size) {
+                fallback = new int[] { x, y };
+                break;
+            }
+            if (steps >= 0 && fallback == null)
+                fallback = new int[] { x, y };
+        }
+
+        if (fallback == null)
+            throw new IllegalStateException("Could not place a guard that leaves the lab");
+
+        grid[fallback[1]][fallback[0]] = '^';
+
+        return Grids.toString(grid);
+    }
+
+    /**
+     * Walks the guard from the given position, facing up.
+     *
+     * @return Number of steps before leaving the lab, or -1 if the guard
+     *         walks in a loop
+     */
+    private static int walkOut(char[][] grid, int x, int y) {
+        int[] dx = { 0, 1, 0, -1 };
+        int[] dy = { -1, 0, 1, 0 };
+        int direction = 0;
+        int steps = 0;
+        Set<Long> states = new HashSet<>();
+
+        while (true) {
+            long state = (((long) y * grid[0].length + x) << 2) | direction;
+            if (!states.add(state))
+                return -1;
+
+            int nextX = x + dx[direction];
+            int nextY = y + dy[direction];
+
+            if (nextY < 0 || nextY >= grid.length || nextX < 0 || nextX >= grid[0].length)
+                return steps;
+
+            if (grid[nextY][nextX] == '#') {
+                direction = (direction + 1) % 4;
+            } else {
+                x = nextX;
+                y = nextY;
+                steps++;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the number of equations. Most of them can be made true with the
+ * operators of part 1 or part 2, the rest are random.
+ */
+public enum Day7Generator implements InputGenerator {
+    INSTANCE;
+
+    // Keeps the concatenations well within the range of a long
+    private static final long MAX_RESULT = 1_000_000_000_000_000L;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(size * 40);
+
+        for (int i = 0; i < size; ++i) {
+            int count = 3 + random.nextInt(9);
+            long[] values = new long[count];
+            for (int j = 0; j < count; ++j)
+                values[j] = 1 + random.nextInt(999);
+
+            long result = values[0];
+            for (int j = 1; j < count; ++j) {
+                // Falls back to a sum when the result would get too large
+                result = switch (random.nextInt(3)) {
+                    case 1 -> result <= MAX_RESULT / values[j]
+                            ? result * values[j]
+                            : result + values[j];
+                    case 2 -> result <= MAX_RESULT / 1000
+                            ? Long.parseLong(Long.toString(result) + values[j])
+                            : result + values[j];
+                    default -> result + values[j];
+                };
+            }
+
+            if (random.nextInt(4) == 0)
+                result += 1 + random.nextInt(1000);
+
+            sb.append(result).append(':');
+            for (long value : values)
+                sb.append(' ').append(value);
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
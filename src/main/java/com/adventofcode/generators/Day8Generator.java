@@ -0,0 +1,26 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the side of the square map, which holds about four antennas
+ * per row.
+ */
+public enum Day8Generator implements InputGenerator {
+    INSTANCE;
+
+    private static final String FREQUENCIES = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        char[][] grid = Grids.filled(size, size, '.');
+
+        for (int i = 0; i < 4 * size; ++i) {
+            grid[random.nextInt(size)][random.nextInt(size)] = FREQUENCIES
+                    .charAt(random.nextInt(FREQUENCIES.length()));
+        }
+
+        return Grids.toString(grid);
+    }
+}
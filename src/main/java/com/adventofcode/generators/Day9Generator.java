@@ -0,0 +1,25 @@
+package com.adventofcode.generators;
+
+import java.util.Random;
+
+/**
+ * Size is the length of the disk map, rounded down to an odd number so
+ * that it ends with a file, like the real input. Files take 1 to 9 blocks,
+ * free spaces 0 to 9.
+ */
+public enum Day9Generator implements InputGenerator {
+    INSTANCE;
+
+    @Override
+    public String generate(int size, long seed) {
+        Random random = new Random(seed);
+        int length = Math.max(1, size % 2 == 0 ? size - 1 : size);
+        StringBuilder sb = new StringBuilder(length + 1);
+
+        for (int i = 0; i < length; ++i) {
+            sb.append(i % 2 == 0 ? (char) ('1' + random.nextInt(9)) : (char) ('0' + random.nextInt(10)));
+        }
+
+        return sb.append('\n').toString();
+    }
+}
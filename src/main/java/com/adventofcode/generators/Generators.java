@@ -0,0 +1,61 @@
+package com.adventofcode.generators;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.adventofcode.util.Constants.Day;
+
+/**
+ * Holds the input generator of each implemented day.
+ */
+public enum Generators {
+    INSTANCE;
+
+    private final Map<Day, InputGenerator> generators;
+
+    private Generators() {
+        Map<Day, InputGenerator> registered = new EnumMap<>(Day.class);
+
+        registered.put(Day.DAY_1, Day1Generator.INSTANCE);
+        registered.put(Day.DAY_2, Day2Generator.INSTANCE);
+        registered.put(Day.DAY_3, Day3Generator.INSTANCE);
+        registered.put(Day.DAY_4, Day4Generator.INSTANCE);
+        registered.put(Day.DAY_5, Day5Generator.INSTANCE);
+        registered.put(Day.DAY_6, Day6Generator.INSTANCE);
+        registered.put(Day.DAY_7, Day7Generator.INSTANCE);
+        registered.put(Day.DAY_8, Day8Generator.INSTANCE);
+        registered.put(Day.DAY_9, Day9Generator.INSTANCE);
+        registered.put(Day.DAY_10, Day10Generator.INSTANCE);
+        registered.put(Day.DAY_11, Day11Generator.INSTANCE);
+        registered.put(Day.DAY_12, Day12Generator.INSTANCE);
+        registered.put(Day.DAY_13, Day13Generator.INSTANCE);
+        registered.put(Day.DAY_14, Day14Generator.INSTANCE);
+        registered.put(Day.DAY_15, Day15Generator.INSTANCE);
+        registered.put(Day.DAY_16, Day16Generator.INSTANCE);
+        registered.put(Day.DAY_17, Day17Generator.INSTANCE);
+        registered.put(Day.DAY_18, Day18Generator.INSTANCE);
+        registered.put(Day.DAY_19, Day19Generator.INSTANCE);
+
+        this.generators = Collections.unmodifiableMap(registered);
+    }
+
+    /**
+     * @param day Day of the puzzle
+     * @return The generator of that day's inputs
+     * @throws UnsupportedOperationException If the day has no generator
+     */
+    public InputGenerator get(Day day) {
+        var generator = generators.get(day);
+
+        if (generator == null)
+            throw new UnsupportedOperationException("No input generator for " + day);
+
+        return generator;
+    }
+
+    public Set<Day> days() {
+        return generators.keySet();
+    }
+}
@@ -0,0 +1,54 @@
+package com.adventofcode.generators;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Helpers shared by the generators of grid-like inputs.
+ */
+final class Grids {
+    private Grids() {
+        // Utility class
+    }
+
+    @FunctionalInterface
+    interface CellGenerator {
+        char generate(Random random, int x, int y);
+    }
+
+    /**
+     * Fills a grid row by row, left to right.
+     */
+    static String generate(int width, int height, long seed, CellGenerator cells) {
+        Random random = new Random(seed);
+        char[][] grid = new char[height][width];
+
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                grid[y][x] = cells.generate(random, x, y);
+            }
+        }
+
+        return toString(grid);
+    }
+
+    static char[][] filled(int width, int height, char value) {
+        char[][] grid = new char[height][width];
+
+        for (char[] row : grid) {
+            Arrays.fill(row, value);
+        }
+
+        return grid;
+    }
+
+    static String toString(char[][] grid) {
+        StringBuilder sb = new StringBuilder(grid.length * (grid.length == 0 ? 1 : grid[0].length + 1));
+
+        for (char[] row : grid) {
+            sb.append(row).append('\n');
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.adventofcode.generators;
+
+/**
+ * Produces synthetic puzzle inputs, in the same format as the real ones,
+ * so that the solvers can be exercised with inputs much larger than the
+ * puzzles provide.
+ *
+ * Generators are deterministic: the same size and seed always give the
+ * same input.
+ */
+public interface InputGenerator {
+    /**
+     * @param size Size of the input. What it counts depends on the day,
+     *             e.g. lines for list-like inputs or the side of the grid
+     *             for grid-like inputs
+     * @param seed Seed of the random generator
+     * @return The generated input, with every line terminated by '\n'
+     */
+    String generate(int size, long seed);
+}
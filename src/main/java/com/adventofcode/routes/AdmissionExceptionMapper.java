@@ -0,0 +1,29 @@
+package com.adventofcode.routes;
+
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+import com.adventofcode.service.AdmissionRejectedException;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+public class AdmissionExceptionMapper {
+
+    /**
+     * Full queues are reported as 429, so that clients back off, while
+     * requests that waited too long get a 503.
+     */
+    @ServerExceptionMapper
+    public Response mapAdmissionRejected(AdmissionRejectedException e) {
+        var status = switch (e.reason()) {
+            case QUEUE_FULL -> Response.Status.TOO_MANY_REQUESTS;
+            case TIMED_OUT -> Response.Status.SERVICE_UNAVAILABLE;
+        };
+
+        return Response.status(status)
+                .header("Retry-After", Math.max(1, e.retryAfter().toSeconds()))
+                .type(MediaType.TEXT_PLAIN)
+                .entity(e.getMessage())
+                .build();
+    }
+}
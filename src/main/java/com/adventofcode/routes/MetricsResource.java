@@ -0,0 +1,27 @@
+package com.adventofcode.routes;
+
+import com.adventofcode.service.SolverMetrics;
+import com.adventofcode.service.SolverService;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+@Path("/metrics")
+public class MetricsResource {
+
+    @Inject
+    SolverService solverService;
+
+    /**
+     * Request counts and latency percentiles of every day and part solved
+     * since startup, along with the usage of the answer cache.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public SolverMetrics.Snapshot metrics() {
+        return solverService.metrics();
+    }
+}
@@ -0,0 +1,81 @@
+package com.adventofcode.routes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestQuery;
+
+import com.adventofcode.service.RecordingService;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Controls Flight Recorder recordings. Every endpoint answers with the
+ * location of the file written, on the server.
+ *
+ * These endpoints are not authenticated and write files on the server, so
+ * they answer 404 unless solver.recording.enabled is set.
+ */
+@Path("/admin/recording")
+public class RecordingResource {
+
+    @Inject
+    RecordingService recordingService;
+
+    @ConfigProperty(name = "solver.recording.enabled")
+    boolean enabled;
+
+    @Path("/start")
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public String start(@RestQuery("max_age_minutes") Optional<Integer> maxAgeMinutes) {
+        checkEnabled();
+
+        if (!recordingService.start(minutes(maxAgeMinutes, 30)))
+            throw new WebApplicationException("A recording is already running", 409);
+
+        return "Recording started";
+    }
+
+    @Path("/stop")
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public String stop() {
+        checkEnabled();
+
+        return recordingService.stop()
+                .map(Object::toString)
+                .orElseThrow(() -> new WebApplicationException("No recording is running", 409));
+    }
+
+    @Path("/snapshot")
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public String snapshot(@RestQuery("last_minutes") Optional<Integer> lastMinutes) {
+        checkEnabled();
+
+        return recordingService.snapshot(minutes(lastMinutes, 5))
+                .map(Object::toString)
+                .orElseThrow(() -> new WebApplicationException("Nothing is being recorded", 409));
+    }
+
+    private void checkEnabled() {
+        if (!enabled)
+            throw new WebApplicationException(404);
+    }
+
+    private static Duration minutes(Optional<Integer> minutes, int defaultMinutes) {
+        int value = minutes.orElse(defaultMinutes);
+        if (value < 1)
+            throw new BadRequestException("The number of minutes must be positive");
+
+        return Duration.ofMinutes(value);
+    }
+}
@@ -6,6 +6,8 @@ import org.jboss.resteasy.reactive.RestPath;
 import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
+import com.adventofcode.service.SolverParameters;
+
 import jakarta.ws.rs.FormParam;
 
 public class RequestBean {
@@ -72,4 +74,7 @@ public class RequestBean {
         this.day14IterationEnd = day14IterationEnd;
     }
 
+    public SolverParameters getParameters() {
+        return new SolverParameters(day14IterationStart, day14IterationEnd, day14Visualize);
+    }
 }
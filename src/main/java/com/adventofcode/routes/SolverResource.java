@@ -1,22 +1,57 @@
 package com.adventofcode.routes;
 
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestHeader;
+import org.jboss.resteasy.reactive.RestPath;
+import org.jboss.resteasy.reactive.RestQuery;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
 
+import com.adventofcode.service.BatchResult;
+import com.adventofcode.service.PuzzleInput;
+import com.adventofcode.service.SolveResult;
+import com.adventofcode.service.SolverParameters;
 import com.adventofcode.service.SolverService;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
 
 import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.BeanParam;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 
 @Path("/solve")
 public class SolverResource {
-    private SolverService solverService;
+    // Form field carrying the input of a day in a batch, e.g. day_14
+    private static final Pattern BATCH_FIELD = Pattern.compile("day_(\\d+)");
+    // Guards against small gzip bodies that expand into huge inputs
+    private static final int MAX_DECODED_BYTES = 64 << 20;
+    // Lower server quality, so that clients accepting anything still get
+    // the plain text answer unless they ask for JSON
+    private static final String DETAILED = MediaType.APPLICATION_JSON + ";qs=0.5";
+
+    @Inject
+    SolverService solverService;
 
     @Path("/{dayNumber}/{partNumber}")
     @PUT
@@ -24,10 +59,174 @@ public class SolverResource {
     @Produces(MediaType.TEXT_PLAIN)
     @Timeout(600_000)
     @RunOnVirtualThread
-    public String solve(@BeanParam RequestBean request) throws FileNotFoundException {
+    public String solve(@BeanParam RequestBean request) {
+
+        return solverService.solve(request);
+    }
+
+    /**
+     * Same as {@link #solve(RequestBean)}, picked with
+     * {@code Accept: application/json}. Along with the answer, reports where
+     * the time went and what the solve cost.
+     */
+    @Path("/{dayNumber}/{partNumber}")
+    @PUT
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(DETAILED)
+    @Timeout(600_000)
+    @RunOnVirtualThread
+    public SolveResult solveDetailed(@BeanParam RequestBean request) {
+
+        return solverService.solveDetailed(request);
+    }
+
+    /**
+     * Same as {@link #solve(RequestBean)}, but takes the input as the raw
+     * request body, optionally gzip-encoded. The body is kept in memory, so
+     * unlike multipart uploads nothing is written to disk.
+     */
+    @Path("/{dayNumber}/{partNumber}")
+    @PUT
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @Produces(MediaType.TEXT_PLAIN)
+    @Timeout(600_000)
+    @RunOnVirtualThread
+    public String solveRaw(@RestPath int dayNumber, @RestPath int partNumber,
+            @RestHeader("Content-Encoding") Optional<String> contentEncoding,
+            @RestQuery("day_14_start") Optional<Integer> day14IterationStart,
+            @RestQuery("day_14_end") Optional<Integer> day14IterationEnd,
+            @RestQuery("day_14_visualize") boolean day14Visualize,
+            byte[] body) {
+
+        return solveRawDetailed(dayNumber, partNumber, contentEncoding, day14IterationStart,
+                day14IterationEnd, day14Visualize, body).answer();
+    }
+
+    /**
+     * Same as {@link #solveDetailed(RequestBean)}, for raw request bodies.
+     */
+    @Path("/{dayNumber}/{partNumber}")
+    @PUT
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @Produces(DETAILED)
+    @Timeout(600_000)
+    @RunOnVirtualThread
+    public SolveResult solveRawDetailed(@RestPath int dayNumber, @RestPath int partNumber,
+            @RestHeader("Content-Encoding") Optional<String> contentEncoding,
+            @RestQuery("day_14_start") Optional<Integer> day14IterationStart,
+            @RestQuery("day_14_end") Optional<Integer> day14IterationEnd,
+            @RestQuery("day_14_visualize") boolean day14Visualize,
+            byte[] body) {
+
+        Day day = Day.fromInteger(dayNumber);
+        Part part = Part.fromInteger(partNumber);
 
-        solverService = new SolverService(request);
+        return solverService.solveDetailed(day, part,
+                solverService.ingest(day, part,
+                        () -> PuzzleInput.fromBytes(decode(body, contentEncoding.orElse("identity")))),
+                new SolverParameters(day14IterationStart, day14IterationEnd, day14Visualize));
+    }
+
+    /**
+     * Streams the frames of day 14, part 2 while they are drawn, so memory
+     * use does not grow with the number of iterations. Writes block while
+     * the client is not reading, which also holds back the simulation, so
+     * both the range and the time to write it are limited.
+     */
+    @Path("/14/2/visualize")
+    @PUT
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.TEXT_PLAIN)
+    @RunOnVirtualThread
+    public StreamingOutput visualizeDay14(@RestForm("input") FileUpload inputPart,
+            @RestQuery("day_14_start") Optional<Integer> day14IterationStart,
+            @RestQuery("day_14_end") Optional<Integer> day14IterationEnd) {
+
+        var input = PuzzleInput.fromFile(inputPart.uploadedFile());
+        var parameters = new SolverParameters(day14IterationStart, day14IterationEnd, true);
+        // Once the frames start streaming the status can no longer change
+        solverService.checkDay14Visualization(parameters);
+
+        return output -> solverService.visualizeDay14(input, parameters, frame -> {
+            try {
+                output.write(frame.getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+            } catch (IOException e) {
+                // Most likely the client went away, which stops the simulation
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Path("/batch")
+    @PUT
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Timeout(600_000)
+    @RunOnVirtualThread
+    public List<BatchResult> solveBatch(@RestForm(FileUpload.ALL) List<FileUpload> inputParts,
+            @RestQuery("day_14_start") Optional<Integer> day14IterationStart,
+            @RestQuery("day_14_end") Optional<Integer> day14IterationEnd,
+            @RestQuery("day_14_visualize") boolean day14Visualize) {
+
+        Map<Day, PuzzleInput> inputs = new EnumMap<>(Day.class);
+
+        for (var inputPart : inputParts) {
+            Day day = batchDay(inputPart.name());
+
+            if (inputs.put(day, PuzzleInput.fromFile(inputPart.uploadedFile())) != null)
+                throw new BadRequestException("More than one input for " + inputPart.name());
+        }
+
+        return solverService.solveBatch(inputs,
+                new SolverParameters(day14IterationStart, day14IterationEnd, day14Visualize));
+    }
+
+    /**
+     * Day whose input a batch form field carries.
+     *
+     * @param fieldName Name of the form field, e.g. day_14
+     * @throws BadRequestException If the name does not follow day_&lt;number&gt;
+     *                             or the day does not exist
+     */
+    static Day batchDay(String fieldName) {
+        Matcher matcher = BATCH_FIELD.matcher(fieldName);
+        if (!matcher.matches())
+            throw new BadRequestException("Unexpected form field " + fieldName + ", expected day_<number>");
+
+        try {
+            return Day.fromInteger(Integer.parseInt(matcher.group(1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    static byte[] decode(byte[] body, String contentEncoding) {
+        return decode(body, contentEncoding, MAX_DECODED_BYTES);
+    }
 
-        return solverService.solve();
+    /**
+     * @param maxDecodedBytes Largest input a compressed body may expand to
+     * @throws WebApplicationException With 413 if the body expands past
+     *                                 the limit, 415 if the encoding is not
+     *                                 supported, or 400 if it is not valid
+     */
+    static byte[] decode(byte[] body, String contentEncoding, int maxDecodedBytes) {
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "identity":
+                return body;
+            case "gzip":
+            case "x-gzip":
+                try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    byte[] decoded = gzip.readNBytes(maxDecodedBytes + 1);
+                    if (decoded.length > maxDecodedBytes)
+                        throw new WebApplicationException("Decompressed input is too large", 413);
+                    return decoded;
+                } catch (IOException e) {
+                    throw new BadRequestException("Invalid gzip body: " + e.getMessage());
+                }
+            default:
+                throw new WebApplicationException("Unsupported Content-Encoding " + contentEncoding, 415);
+        }
     }
 }
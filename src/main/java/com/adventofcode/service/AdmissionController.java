@@ -0,0 +1,153 @@
+package com.adventofcode.service;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Limits how many solves run at the same time, weighing each one by how
+ * expensive its puzzle is.
+ *
+ * Cheap puzzles go through a light lane of their own, so a burst of heavy
+ * solves cannot keep them waiting. Heavy puzzles take as many permits of
+ * the heavy lane as their weight. Each lane only lets a bounded number of
+ * requests wait for permits: beyond that, requests are rejected right
+ * away, and those that wait for too long are rejected as well.
+ */
+@ApplicationScoped
+public class AdmissionController {
+    private final Lane light;
+    private final Lane heavy;
+    private final Duration queueTimeout;
+
+    public AdmissionController(
+            @ConfigProperty(name = "solver.admission.light-permits") int lightPermits,
+            @ConfigProperty(name = "solver.admission.heavy-permits") int heavyPermits,
+            @ConfigProperty(name = "solver.admission.max-queued") int maxQueued,
+            @ConfigProperty(name = "solver.admission.queue-timeout") Duration queueTimeout) {
+        if (lightPermits < 1 || heavyPermits < 1 || maxQueued < 0)
+            throw new IllegalArgumentException("Invalid admission limits");
+
+        this.light = new Lane("light", lightPermits, maxQueued);
+        this.heavy = new Lane("heavy", heavyPermits, maxQueued);
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * Relative cost of solving a puzzle. Anything above 1 goes through the
+     * heavy lane.
+     */
+    static int weight(Day day, Part part) {
+        return switch (day) {
+            case DAY_6, DAY_14 -> part == Part.PART_2 ? 4 : 1;
+            case DAY_16 -> part == Part.PART_2 ? 4 : 2;
+            case DAY_9, DAY_12, DAY_18 -> part == Part.PART_2 ? 2 : 1;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Waits until the puzzle can be solved without exceeding the limits.
+     * The returned permit must be closed once the solve is over.
+     *
+     * @param day  Day of the puzzle
+     * @param part Part of the puzzle
+     * @return Permit to be closed after solving
+     * @throws AdmissionRejectedException If too many requests are waiting
+     *                                    already, or if the wait times out
+     * @throws CancellationException      If interrupted while waiting
+     */
+    public Permit admit(Day day, Part part) {
+        int weight = weight(day, part);
+        Lane lane = weight > 1 ? heavy : light;
+
+        return lane.acquire(Math.min(weight, lane.permits), queueTimeout);
+    }
+
+    public int available(boolean heavyLane) {
+        return (heavyLane ? heavy : light).semaphore.availablePermits();
+    }
+
+    public int queued(boolean heavyLane) {
+        return (heavyLane ? heavy : light).queued.get();
+    }
+
+    /**
+     * Permits held by a running solve.
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final int permits;
+        private boolean released;
+
+        private Permit(Semaphore semaphore, int permits) {
+            this.semaphore = semaphore;
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                semaphore.release(permits);
+            }
+        }
+    }
+
+    private static final class Lane {
+        final String name;
+        final int permits;
+        final int maxQueued;
+        // Fair, so that heavy solves waiting for several permits are not
+        // overtaken forever by lighter ones
+        final Semaphore semaphore;
+        final AtomicInteger queued = new AtomicInteger();
+
+        Lane(String name, int permits, int maxQueued) {
+            this.name = name;
+            this.permits = permits;
+            this.maxQueued = maxQueued;
+            this.semaphore = new Semaphore(permits, true);
+        }
+
+        Permit acquire(int weight, Duration timeout) {
+            // The untimed tryAcquire() would barge ahead of the waiting
+            // requests, while the timed one keeps to the queue
+            try {
+                if (semaphore.tryAcquire(weight, 0L, TimeUnit.NANOSECONDS))
+                    return new Permit(semaphore, weight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for a solve slot");
+            }
+
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw new AdmissionRejectedException(AdmissionRejectedException.Reason.QUEUE_FULL,
+                        "Too many " + name + " solves waiting, try again later", timeout);
+            }
+
+            try {
+                if (!semaphore.tryAcquire(weight, timeout.toNanos(), TimeUnit.NANOSECONDS))
+                    throw new AdmissionRejectedException(AdmissionRejectedException.Reason.TIMED_OUT,
+                            "Timed out waiting for a " + name + " solve slot", timeout);
+
+                return new Permit(semaphore, weight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for a solve slot");
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+    }
+}
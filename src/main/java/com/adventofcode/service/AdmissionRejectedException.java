@@ -0,0 +1,37 @@
+package com.adventofcode.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a solve is turned away because the server is at capacity.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        /** Too many requests were already waiting */
+        QUEUE_FULL,
+        /** The request waited for too long */
+        TIMED_OUT
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(Reason reason, String message, Duration retryAfter) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+
+    /**
+     * Suggested delay before trying again.
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
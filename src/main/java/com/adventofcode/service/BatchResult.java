@@ -0,0 +1,15 @@
+package com.adventofcode.service;
+
+/**
+ * Outcome of solving one part of a puzzle as part of a batch. Exactly one of
+ * answer and error is set.
+ *
+ * @param day          Day of the puzzle
+ * @param part         Part of the puzzle
+ * @param answer       The answer, if it was found
+ * @param error        Why the answer could not be found, otherwise
+ * @param elapsedNanos Time spent on this part, including any wait for a
+ *                     free worker
+ */
+public record BatchResult(int day, int part, String answer, String error, long elapsedNanos) {
+}
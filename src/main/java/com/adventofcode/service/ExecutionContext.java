@@ -0,0 +1,151 @@
+package com.adventofcode.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.adventofcode.util.CancellationToken;
+
+/**
+ * Runs each solve in a pool of its own, sized by solver.parallelism.
+ *
+ * Parallel streams started from a ForkJoinPool worker run in that same
+ * pool, so every bit of parallelism inside a solver stays within the
+ * budget of its request, instead of competing with the other requests
+ * for the common pool. Since the workers of that pool only ever run one
+ * solve, the CPU time and allocations of their whole lifetime are what
+ * the solve cost.
+ */
+public class ExecutionContext {
+    private final int parallelism;
+
+    public ExecutionContext(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        this.parallelism = parallelism;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs the task in a new pool and waits for its result. The task sees a
+     * cancellation token that is cancelled when the calling thread is
+     * interrupted, e.g. on timeout.
+     *
+     * @param <T>  Type of the result
+     * @param task Task to run
+     * @return The result of the task
+     * @throws CancellationException If the calling thread is interrupted
+     */
+    public <T> T run(Supplier<T> task) {
+        return runMeasured(task).value();
+    }
+
+    /**
+     * Same as {@link #run(Supplier)}, also reporting the resources used by
+     * the workers that ran the task.
+     */
+    public <T> Measured<T> runMeasured(Supplier<T> task) {
+        return runMeasured(task, null);
+    }
+
+    /**
+     * Same as {@link #run(Supplier)}, but also gives up once the timeout
+     * elapses. The workers are interrupted then, so that a task blocked
+     * outside of the solver, e.g. writing to a slow client, stops too.
+     *
+     * @throws CancellationException If the calling thread is interrupted or
+     *                               the timeout elapses
+     */
+    public <T> T run(Supplier<T> task, Duration timeout) {
+        return runMeasured(task, timeout).value();
+    }
+
+    private <T> Measured<T> runMeasured(Supplier<T> task, Duration timeout) {
+        var token = CancellationToken.forCurrentThread();
+        Queue<Thread> workers = new ConcurrentLinkedQueue<>();
+        var pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+
+        try {
+            var future = pool.submit(() -> token.runWith(task));
+            T value = timeout == null ? future.get() : future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            // Measured before shutting down, as the workers must still be alive
+            return new Measured<>(value, Usage.of(workers));
+        } catch (InterruptedException e) {
+            token.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while solving");
+        } catch (TimeoutException e) {
+            token.cancel();
+            pool.shutdownNow();
+            throw new CancellationException("Timed out after " + timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Does not wait: a cancelled task stops on its own shortly after
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Result of a task along with what it cost.
+     */
+    public record Measured<T>(T value, Usage usage) {
+    }
+
+    /**
+     * CPU time and heap allocations of the workers of a pool. Either is -1
+     * when the JVM cannot measure it.
+     *
+     * @param cpuNanos       CPU time, in nanoseconds
+     * @param allocatedBytes Bytes allocated on the heap
+     * @param threads        Number of workers the pool started
+     */
+    public record Usage(long cpuNanos, long allocatedBytes, int threads) {
+        public static final Usage NONE = new Usage(0, 0, 0);
+
+        static Usage of(Queue<Thread> workers) {
+            long[] ids = workers.stream().mapToLong(Thread::threadId).toArray();
+            var threadBean = ManagementFactory.getThreadMXBean();
+
+            long cpuNanos = -1;
+            if (threadBean.isThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled()) {
+                cpuNanos = 0;
+                for (long id : ids) {
+                    cpuNanos += Math.max(0, threadBean.getThreadCpuTime(id));
+                }
+            }
+
+            long allocatedBytes = -1;
+            if (threadBean instanceof com.sun.management.ThreadMXBean allocationBean
+                    && allocationBean.isThreadAllocatedMemorySupported()
+                    && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                allocatedBytes = 0;
+                for (long bytes : allocationBean.getThreadAllocatedBytes(ids)) {
+                    allocatedBytes += Math.max(0, bytes);
+                }
+            }
+
+            return new Usage(cpuNanos, allocatedBytes, ids.length);
+        }
+    }
+}
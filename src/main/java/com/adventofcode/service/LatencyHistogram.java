@@ -0,0 +1,109 @@
+package com.adventofcode.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with buckets laid out
+ * like an HDR histogram: every power of two is split into 16 linear
+ * sub-buckets, so any recorded value is off by at most about 6%, from a
+ * nanosecond up to centuries, in a fixed amount of memory.
+ *
+ * Recording is a handful of atomic increments, cheap enough to do on
+ * every request.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // One group of sub-buckets for the values below SUB_BUCKETS, then one
+    // for every possible position of the highest bit above that
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Consistent enough for monitoring: values recorded while the snapshot
+     * is being taken may or may not be included.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+
+        if (count == 0)
+            return new Snapshot(0, 0, 0, 0, 0, 0, 0);
+
+        long maxValue = max.get();
+        return new Snapshot(count,
+                sum.sum() / Math.max(1, total.sum()),
+                Math.min(maxValue, percentile(copy, count, 0.5)),
+                Math.min(maxValue, percentile(copy, count, 0.9)),
+                Math.min(maxValue, percentile(copy, count, 0.99)),
+                Math.min(maxValue, percentile(copy, count, 0.999)),
+                maxValue);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int group = highestBit - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+
+        return group * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Smallest value that falls into the given bucket.
+     */
+    static long lowerBound(int index) {
+        int group = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+
+        if (group == 0)
+            return subBucket;
+
+        return (long) (SUB_BUCKETS + subBucket) << (group - 1);
+    }
+
+    private static long percentile(long[] counts, long count, double quantile) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket
+                long low = lowerBound(i);
+                long high = i + 1 < BUCKETS ? lowerBound(i + 1) : Long.MAX_VALUE;
+                return low + (high - low) / 2;
+            }
+        }
+
+        return lowerBound(counts.length - 1);
+    }
+
+    /**
+     * Summary of a histogram, all durations in nanoseconds.
+     */
+    public record Snapshot(long count, long meanNanos, long p50Nanos, long p90Nanos,
+            long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+}
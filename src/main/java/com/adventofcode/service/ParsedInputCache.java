@@ -0,0 +1,73 @@
+package com.adventofcode.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.adventofcode.util.Constants.Day;
+
+/**
+ * Least-recently-used cache of parsed inputs, so that solving the second
+ * part of a puzzle does not parse the same input again.
+ *
+ * Parsed models can be much larger than the input they come from, so
+ * this cache is bounded by the number of entries only and is meant to be
+ * kept small.
+ */
+public class ParsedInputCache {
+    private final int maxEntries;
+
+    // Access order, so that the first entry is always the least recently used
+    private final LinkedHashMap<Key, Object> entries;
+
+    public ParsedInputCache(int maxEntries) {
+        if (maxEntries < 0)
+            throw new IllegalArgumentException("Cache limits cannot be negative");
+
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > ParsedInputCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached model for the given key, parsing and storing it
+     * first if needed. Parsing happens outside of the lock, so two threads
+     * may occasionally parse the same input, in which case the first stored
+     * model wins.
+     *
+     * @param key    Day and digest of the input
+     * @param parser Parses the input when it is not cached
+     * @return The parsed model
+     */
+    public Object getOrParse(Key key, Supplier<?> parser) {
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null)
+                return cached;
+        }
+
+        Object parsed = parser.get();
+
+        if (maxEntries == 0)
+            return parsed;
+
+        synchronized (this) {
+            Object previous = entries.putIfAbsent(key, parsed);
+            return previous != null ? previous : parsed;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Identifies a parsed input: the same bytes parsed by the same solver.
+     */
+    public record Key(Day day, String inputDigest) {
+    }
+}
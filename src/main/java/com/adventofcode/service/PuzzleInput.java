@@ -0,0 +1,139 @@
+package com.adventofcode.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.adventofcode.util.Digests;
+
+/**
+ * Raw bytes of an uploaded puzzle input.
+ *
+ * Large files are memory-mapped instead of being copied onto the heap,
+ * and the text handed to the solvers is only decoded the first time it
+ * is requested, straight from the underlying buffer.
+ */
+public final class PuzzleInput {
+    // Below this size a plain read is cheaper than setting up a mapping.
+    private static final long MAPPING_THRESHOLD = 1 << 20;
+
+    private final ByteBuffer buffer;
+    private volatile String text;
+    private volatile String digest;
+
+    private PuzzleInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads the file at the given path, mapping it into memory if it is
+     * large enough.
+     *
+     * @param path Location of the input file
+     * @return The input backed by the file contents
+     * @throws IllegalArgumentException If the file cannot be read
+     */
+    public static PuzzleInput fromFile(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size >= MAPPING_THRESHOLD) {
+                return new PuzzleInput(channel.map(MapMode.READ_ONLY, 0, size));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+                ;
+
+            return new PuzzleInput(buffer.flip());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Could not read the input file.\n" + e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Wraps bytes that are already in memory, e.g. a raw request body,
+     * without copying them. The array must not be modified afterwards.
+     *
+     * @param bytes Contents of the input
+     * @return The input backed by the given array
+     */
+    public static PuzzleInput fromBytes(byte[] bytes) {
+        return new PuzzleInput(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Read-only view over the raw bytes. Every call returns an independent
+     * view, so callers are free to move its position.
+     */
+    public ByteBuffer bytes() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Size of the input in bytes.
+     */
+    public int size() {
+        return buffer.remaining();
+    }
+
+    /**
+     * SHA-256 of the raw bytes, as a hex string. It is computed by streaming
+     * over the buffer, so neither decoding nor copying the input is needed.
+     *
+     * @return Digest identifying the contents of the input
+     */
+    public String digest() {
+        String result = digest;
+
+        if (result == null) {
+            result = Digests.sha256Hex(buffer);
+            digest = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the input decoded as UTF-8, with every line terminated by a
+     * single '\n', which is what the solvers expect.
+     *
+     * @return The input as text
+     */
+    public String text() {
+        String result = text;
+
+        if (result == null) {
+            result = normalizeLineEndings(decode());
+            text = result;
+        }
+
+        return result;
+    }
+
+    private String decode() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining(), StandardCharsets.UTF_8);
+        }
+
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    private static String normalizeLineEndings(String text) {
+        if (text.indexOf('\r') >= 0) {
+            text = text.replace("\r\n", "\n").replace('\r', '\n');
+        }
+
+        if (!text.isEmpty() && text.charAt(text.length() - 1) != '\n') {
+            text = text + '\n';
+        }
+
+        return text;
+    }
+}
@@ -0,0 +1,132 @@
+package com.adventofcode.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Starts, stops and dumps Flight Recorder recordings from within the
+ * application, so that slow solves can be diagnosed in production without
+ * attaching any tool.
+ *
+ * Recordings use the JDK "default" settings, meant to be left running, plus
+ * the events of {@link SolverEvents}. Files are written to
+ * solver.recording.directory.
+ */
+@ApplicationScoped
+public class RecordingService {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter
+            .ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private Recording recording;
+
+    public RecordingService(@ConfigProperty(name = "solver.recording.directory") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Starts a recording, keeping only the data of the given time window.
+     *
+     * @param maxAge How far back the recording keeps data
+     * @return False if a recording is already running
+     */
+    public synchronized boolean start(Duration maxAge) {
+        if (recording != null)
+            return false;
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            // The default configuration ships with every JDK
+            throw new IllegalStateException(e);
+        }
+
+        started.setName("aoc-solver");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.start();
+
+        recording = started;
+        return true;
+    }
+
+    /**
+     * Stops the running recording and writes all of its data to a file.
+     *
+     * @return The file written, or empty if no recording was running
+     */
+    public synchronized Optional<Path> stop() {
+        if (recording == null)
+            return Optional.empty();
+
+        try (var stopped = recording) {
+            recording = null;
+            stopped.stop();
+
+            Path file = newFile("recording");
+            stopped.dump(file);
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the data recorded over the last given period to a file,
+     * leaving the running recording, if any, untouched.
+     *
+     * @param last How far back to go
+     * @return The file written, or empty if nothing is being recorded
+     */
+    public Optional<Path> snapshot(Duration last) {
+        Instant since = Instant.now().minus(last);
+
+        try (var snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0)
+                return Optional.empty();
+
+            Path file = newFile("snapshot");
+            Path full = Files.createTempFile(directory, "snapshot", ".jfr");
+
+            try {
+                snapshot.dump(full);
+                try (var recorded = new RecordingFile(full)) {
+                    recorded.write(file, event -> !event.getEndTime().isBefore(since));
+                }
+            } finally {
+                Files.deleteIfExists(full);
+            }
+
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    private Path newFile(String prefix) throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve(prefix + "-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr")
+                .toAbsolutePath();
+    }
+}
@@ -0,0 +1,100 @@
+package com.adventofcode.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Least-recently-used cache of answers, bounded both by the number of
+ * entries and by an estimate of the memory they use.
+ */
+public class ResultCache {
+    // Rough size of the key, the map entry and the String header.
+    private static final long ENTRY_OVERHEAD = 256;
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access order, so that the first entry is always the least recently used
+    private final LinkedHashMap<Key, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResultCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 0 || maxBytes < 0)
+            throw new IllegalArgumentException("Cache limits cannot be negative");
+
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized Optional<String> get(Key key) {
+        String value = entries.get(key);
+
+        if (value == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(value);
+    }
+
+    /**
+     * Stores an answer, evicting the least recently used entries until the
+     * cache fits its limits again. Answers that would not fit on their own
+     * are not stored at all.
+     */
+    public synchronized void put(Key key, String value) {
+        long weight = weigh(value);
+
+        if (maxEntries == 0 || weight > maxBytes)
+            return;
+
+        String previous = entries.put(key, value);
+        usedBytes += weight;
+        if (previous != null)
+            usedBytes -= weigh(previous);
+
+        Iterator<Map.Entry<Key, String>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || usedBytes > maxBytes) {
+            usedBytes -= weigh(leastRecentlyUsed.next().getValue());
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private static long weigh(String value) {
+        // Answers are ASCII, which Strings store with one byte per char
+        return ENTRY_OVERHEAD + value.length();
+    }
+
+    /**
+     * Identifies an answer: the same puzzle and part, for the same input
+     * bytes, solved with the same parameters.
+     */
+    public record Key(Day day, Part part, String inputDigest, SolverParameters parameters) {
+    }
+}
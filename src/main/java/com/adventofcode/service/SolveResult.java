@@ -0,0 +1,35 @@
+package com.adventofcode.service;
+
+/**
+ * Answer to a solve request, along with what it took to find it.
+ *
+ * @param day            Day of the puzzle
+ * @param part           Part of the puzzle
+ * @param answer         The answer
+ * @param cacheHit       True if the answer was not computed for this
+ *                       request, but found in the cache or shared by an
+ *                       identical request. The costs below are 0 then.
+ * @param wallNanos      Time spent on the whole request, including any
+ *                       wait for a free slot
+ * @param cpuNanos       CPU time of the workers that solved the puzzle, or
+ *                       -1 if the JVM cannot measure it
+ * @param allocatedBytes Bytes allocated by those workers, or -1 if the JVM
+ *                       cannot measure it
+ * @param parseNanos     Time spent parsing the input, for the days that
+ *                       parse it separately and when it was not cached
+ * @param computeNanos   Time spent solving the parsed input, or the raw
+ *                       input for the other days
+ * @param parallelism    Number of workers that solved the puzzle
+ */
+public record SolveResult(int day, int part, String answer, boolean cacheHit, long wallNanos,
+        long cpuNanos, long allocatedBytes, long parseNanos, long computeNanos, int parallelism) {
+
+    static SolveResult cached(int day, int part, String answer) {
+        return new SolveResult(day, part, answer, true, 0, 0, 0, 0, 0, 0);
+    }
+
+    SolveResult withWallNanos(long wallNanos) {
+        return new SolveResult(day, part, answer, cacheHit, wallNanos, cpuNanos, allocatedBytes,
+                parseNanos, computeNanos, parallelism);
+    }
+}
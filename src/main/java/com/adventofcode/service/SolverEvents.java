@@ -0,0 +1,82 @@
+package com.adventofcode.service;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events emitted around each phase of a solve. They cost
+ * next to nothing unless a recording is running, see
+ * {@link RecordingService}.
+ *
+ * Usage: create the event, call begin() before the phase and
+ * {@link PhaseEvent#end} after it.
+ */
+public final class SolverEvents {
+    private SolverEvents() {
+    }
+
+    @Category({ "Advent of Code", "Solver" })
+    @StackTrace(false)
+    public abstract static class PhaseEvent extends Event {
+        @Label("Day")
+        int day;
+
+        @Label("Part")
+        int part;
+
+        @Label("Input Size")
+        @DataAmount
+        long inputSize;
+
+        @Label("Result Size")
+        @Description("Length of the answer, 0 if the phase does not produce it")
+        @DataAmount
+        long resultSize;
+
+        /**
+         * Ends the phase and commits the event, if it is enabled.
+         */
+        public void end(Day day, Part part, long inputSize, long resultSize) {
+            end();
+            if (shouldCommit()) {
+                this.day = day.toInteger();
+                this.part = part.toInteger();
+                this.inputSize = inputSize;
+                this.resultSize = resultSize;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.adventofcode.Ingestion")
+    @Label("Input Ingestion")
+    @Description("Reading, decoding and hashing an uploaded input")
+    public static final class Ingestion extends PhaseEvent {
+    }
+
+    @Name("com.adventofcode.Parse")
+    @Label("Input Parsing")
+    @Description("Parsing an input into the model of its day, when not cached")
+    public static final class Parse extends PhaseEvent {
+    }
+
+    @Name("com.adventofcode.Compute")
+    @Label("Computation")
+    @Description("Solving the puzzle, including parsing for days without a separate parse step")
+    public static final class Compute extends PhaseEvent {
+    }
+
+    @Name("com.adventofcode.Serialization")
+    @Label("Answer Serialization")
+    @Description("Turning the answer into text")
+    public static final class Serialization extends PhaseEvent {
+    }
+}
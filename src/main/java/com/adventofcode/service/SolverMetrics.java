@@ -0,0 +1,118 @@
+package com.adventofcode.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Request counts and latencies of the solves, per day and part.
+ *
+ * Three latencies are tracked: parsing the input (only for solvers that
+ * parse separately, and only when the parsed input was not cached
+ * already), solving it (including the parsing for the other solvers) and
+ * the whole request, including cache lookups and waiting for a permit or
+ * for an identical request.
+ */
+public class SolverMetrics {
+    private final Map<Key, PartMetrics> parts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder bytesIngested = new LongAdder();
+
+    /**
+     * Records the start of a request.
+     *
+     * @return Start time, to be passed to {@link #requestFinished}
+     */
+    public long requestStarted(Day day, Part part, int inputBytes) {
+        var metrics = metrics(day, part);
+
+        metrics.requests.increment();
+        metrics.inFlight.incrementAndGet();
+        inFlight.incrementAndGet();
+        bytesIngested.add(inputBytes);
+
+        return System.nanoTime();
+    }
+
+    public void requestFinished(Day day, Part part, long startTime, boolean failed) {
+        var metrics = metrics(day, part);
+
+        metrics.total.record(System.nanoTime() - startTime);
+        if (failed)
+            metrics.errors.increment();
+        metrics.inFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    public void cacheHit(Day day, Part part) {
+        metrics(day, part).cacheHits.increment();
+    }
+
+    public void recordParse(Day day, Part part, long nanos) {
+        metrics(day, part).parse.record(nanos);
+    }
+
+    public void recordSolve(Day day, Part part, long nanos) {
+        metrics(day, part).solve.record(nanos);
+    }
+
+    public Snapshot snapshot(ResultCache resultCache) {
+        var partSnapshots = parts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(
+                        Comparator.comparing(Key::day).thenComparing(Key::part)))
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+
+        long requests = partSnapshots.stream().mapToLong(PartSnapshot::requests).sum();
+        long errors = partSnapshots.stream().mapToLong(PartSnapshot::errors).sum();
+
+        return new Snapshot(requests, errors, inFlight.get(), bytesIngested.sum(),
+                new CacheSnapshot(resultCache.hits(), resultCache.misses(),
+                        resultCache.size(), resultCache.usedBytes()),
+                partSnapshots);
+    }
+
+    private PartMetrics metrics(Day day, Part part) {
+        var key = new Key(day, part);
+        // Avoids the locking of computeIfAbsent once the entry exists
+        var metrics = parts.get(key);
+        return metrics != null ? metrics : parts.computeIfAbsent(key, k -> new PartMetrics());
+    }
+
+    private record Key(Day day, Part part) {
+    }
+
+    private static final class PartMetrics {
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final LatencyHistogram parse = new LatencyHistogram();
+        final LatencyHistogram solve = new LatencyHistogram();
+        final LatencyHistogram total = new LatencyHistogram();
+
+        PartSnapshot snapshot(Key key) {
+            return new PartSnapshot(key.day().toInteger(), key.part().toInteger(),
+                    requests.sum(), errors.sum(), cacheHits.sum(), inFlight.get(),
+                    parse.snapshot(), solve.snapshot(), total.snapshot());
+        }
+    }
+
+    public record Snapshot(long requests, long errors, int inFlight, long bytesIngested,
+            CacheSnapshot resultCache, List<PartSnapshot> parts) {
+    }
+
+    public record CacheSnapshot(long hits, long misses, int entries, long usedBytes) {
+    }
+
+    public record PartSnapshot(int day, int part, long requests, long errors, long cacheHits, int inFlight,
+            LatencyHistogram.Snapshot parse, LatencyHistogram.Snapshot solve,
+            LatencyHistogram.Snapshot total) {
+    }
+}
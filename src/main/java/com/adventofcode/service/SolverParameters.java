@@ -0,0 +1,29 @@
+package com.adventofcode.service;
+
+import java.util.Optional;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Day-specific request parameters that change how a puzzle is solved.
+ */
+public record SolverParameters(Optional<Integer> day14IterationStart,
+        Optional<Integer> day14IterationEnd,
+        boolean day14Visualize) {
+
+    public static final SolverParameters NONE = new SolverParameters(Optional.empty(), Optional.empty(), false);
+
+    /**
+     * Drops the parameters that have no effect on the given part, so that
+     * requests that only differ on them are considered the same.
+     *
+     * @param day  Day being solved
+     * @param part Part being solved
+     * @return The parameters that apply to the part
+     */
+    public SolverParameters relevantTo(Day day, Part part) {
+        // Only the search for the easter egg uses the range of iterations
+        return day == Day.DAY_14 && part == Part.PART_2 ? this : NONE;
+    }
+}
@@ -0,0 +1,89 @@
+package com.adventofcode.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.adventofcode.solutions.Day1;
+import com.adventofcode.solutions.Day10;
+import com.adventofcode.solutions.Day11;
+import com.adventofcode.solutions.Day12;
+import com.adventofcode.solutions.Day13;
+import com.adventofcode.solutions.Day14;
+import com.adventofcode.solutions.Day15;
+import com.adventofcode.solutions.Day16;
+import com.adventofcode.solutions.Day17;
+import com.adventofcode.solutions.Day18;
+import com.adventofcode.solutions.Day19;
+import com.adventofcode.solutions.Day2;
+import com.adventofcode.solutions.Day3;
+import com.adventofcode.solutions.Day4;
+import com.adventofcode.solutions.Day5;
+import com.adventofcode.solutions.Day6;
+import com.adventofcode.solutions.Day7;
+import com.adventofcode.solutions.Day8;
+import com.adventofcode.solutions.Day9;
+import com.adventofcode.solutions.Solver;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Pair;
+
+/**
+ * Holds one solver for each implemented day.
+ *
+ * Solvers keep no state between runs (anything a run needs lives in
+ * objects created by that run), so the same instances are shared by
+ * every request, including concurrent ones.
+ */
+public enum SolverRegistry {
+    INSTANCE;
+
+    private final Map<Day, Solver<?, ?>> solvers;
+
+    private SolverRegistry() {
+        Map<Day, Solver<?, ?>> registered = new EnumMap<>(Day.class);
+
+        registered.put(Day.DAY_1, Day1.INSTANCE);
+        registered.put(Day.DAY_2, Day2.INSTANCE);
+        registered.put(Day.DAY_3, Day3.INSTANCE);
+        registered.put(Day.DAY_4, Day4.INSTANCE);
+        registered.put(Day.DAY_5, Day5.INSTANCE);
+        registered.put(Day.DAY_6, Day6.INSTANCE);
+        registered.put(Day.DAY_7, Day7.INSTANCE);
+        registered.put(Day.DAY_8, Day8.INSTANCE);
+        registered.put(Day.DAY_9, Day9.INSTANCE);
+        registered.put(Day.DAY_10, Day10.INSTANCE);
+        registered.put(Day.DAY_11, Day11.INSTANCE);
+        registered.put(Day.DAY_12, Day12.INSTANCE);
+        registered.put(Day.DAY_13, Day13.INSTANCE);
+        registered.put(Day.DAY_14, new Day14(new Pair<>(101, 103), 0, 1500, false));
+        registered.put(Day.DAY_15, Day15.INSTANCE);
+        registered.put(Day.DAY_16, Day16.INSTANCE);
+        registered.put(Day.DAY_17, Day17.INSTANCE);
+        registered.put(Day.DAY_18, new Day18());
+        registered.put(Day.DAY_19, Day19.INSTANCE);
+
+        this.solvers = Collections.unmodifiableMap(registered);
+    }
+
+    /**
+     * Returns the solver registered for the given day.
+     *
+     * @throws UnsupportedOperationException If the day has no solution yet
+     */
+    public Solver<?, ?> get(Day day) {
+        var solver = solvers.get(day);
+
+        if (solver == null)
+            throw new UnsupportedOperationException("Solution not implemented yet");
+
+        return solver;
+    }
+
+    /**
+     * Days with a registered solver, in order.
+     */
+    public Set<Day> days() {
+        return solvers.keySet();
+    }
+}
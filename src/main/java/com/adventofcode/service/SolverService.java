@@ -1,111 +1,453 @@
 package com.adventofcode.service;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.text.NumberFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.adventofcode.routes.RequestBean;
-import com.adventofcode.solutions.Day1;
-import com.adventofcode.solutions.Day10;
-import com.adventofcode.solutions.Day11;
-import com.adventofcode.solutions.Day12;
-import com.adventofcode.solutions.Day13;
 import com.adventofcode.solutions.Day14;
-import com.adventofcode.solutions.Day15;
-import com.adventofcode.solutions.Day16;
-import com.adventofcode.solutions.Day17;
-import com.adventofcode.solutions.Day18;
-import com.adventofcode.solutions.Day19;
-import com.adventofcode.solutions.Day2;
-import com.adventofcode.solutions.Day3;
-import com.adventofcode.solutions.Day4;
-import com.adventofcode.solutions.Day5;
-import com.adventofcode.solutions.Day6;
-import com.adventofcode.solutions.Day7;
-import com.adventofcode.solutions.Day8;
-import com.adventofcode.solutions.Day9;
+import com.adventofcode.solutions.ParsingSolver;
 import com.adventofcode.solutions.Solver;
-import com.adventofcode.util.Pair;
 import com.adventofcode.util.Constants.Day;
 import com.adventofcode.util.Constants.Part;
 
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.BadRequestException;
+
+@ApplicationScoped
 public class SolverService {
-    Solver<?, ?> solverImpl;
-    Day day;
-    Part part;
-    String input;
+    private final ResultCache resultCache;
+    private final ParsedInputCache parsedInputCache;
+    private final ExecutionContext executionContext;
+    private final AdmissionController admissionController;
+    private final SolverMetrics metrics = new SolverMetrics();
+    private final int batchParallelism;
+    private final int day14MaxBufferedFrames;
+    private final int day14MaxStreamedFrames;
+    private final Duration day14StreamTimeout;
+    // Solves currently running, so that identical requests can wait for
+    // them instead of repeating the work.
+    private final Map<ResultCache.Key, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
 
     Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    public SolverService(RequestBean request) throws FileNotFoundException {
-        readInputFromInputStream(
-                new FileInputStream(request.getInputPart().uploadedFile().toFile()));
-
-        this.day = Day.fromInteger(request.getDayNumber());
-        this.part = Part.fromInteger(request.getPartNumber());
-        this.solverImpl = switch (day) {
-            case DAY_1 -> Day1.INSTANCE;
-            case DAY_2 -> Day2.INSTANCE;
-            case DAY_3 -> Day3.INSTANCE;
-            case DAY_4 -> Day4.INSTANCE;
-            case DAY_5 -> Day5.INSTANCE;
-            case DAY_6 -> new Day6();
-            case DAY_7 -> Day7.INSTANCE;
-            case DAY_8 -> new Day8();
-            case DAY_9 -> Day9.INSTANCE;
-            case DAY_10 -> Day10.INSTANCE;
-            case DAY_11 -> Day11.INSTANCE;
-            case DAY_12 -> Day12.INSTANCE;
-            case DAY_13 -> Day13.INSTANCE;
-            case DAY_14 -> new Day14(new Pair<>(101, 103),
-                    request.getDay14IterationStart().orElse(0),
-                    request.getDay14IterationEnd().orElse(1500),
-                    false || request.getDay14Visualize());
-            case DAY_15 -> Day15.INSTANCE;
-            case DAY_16 -> Day16.INSTANCE;
-            case DAY_17 -> Day17.INSTANCE;
-            case DAY_18 -> new Day18();
-            case DAY_19 -> Day19.INSTANCE;
-            default -> throw new UnsupportedOperationException("Solution not implemented yet");
+    public SolverService(
+            @ConfigProperty(name = "solver.cache.max-entries") int cacheMaxEntries,
+            @ConfigProperty(name = "solver.cache.max-bytes") long cacheMaxBytes,
+            @ConfigProperty(name = "solver.batch.parallelism") Optional<Integer> batchParallelism,
+            @ConfigProperty(name = "solver.parse-cache.max-entries") int parseCacheMaxEntries,
+            @ConfigProperty(name = "solver.parallelism") Optional<Integer> parallelism,
+            @ConfigProperty(name = "solver.day14.max-buffered-frames") int day14MaxBufferedFrames,
+            @ConfigProperty(name = "solver.day14.max-streamed-frames") int day14MaxStreamedFrames,
+            @ConfigProperty(name = "solver.day14.stream-timeout") Duration day14StreamTimeout,
+            AdmissionController admissionController) {
+        this.resultCache = new ResultCache(cacheMaxEntries, cacheMaxBytes);
+        this.parsedInputCache = new ParsedInputCache(parseCacheMaxEntries);
+        this.executionContext = new ExecutionContext(
+                parallelism.orElse(Runtime.getRuntime().availableProcessors()));
+        this.admissionController = admissionController;
+        this.batchParallelism = batchParallelism.orElse(Runtime.getRuntime().availableProcessors());
+        this.day14MaxBufferedFrames = day14MaxBufferedFrames;
+        this.day14MaxStreamedFrames = day14MaxStreamedFrames;
+        this.day14StreamTimeout = day14StreamTimeout;
+    }
+
+    public String solve(RequestBean request) {
+        return solveDetailed(request).answer();
+    }
+
+    public SolveResult solveDetailed(RequestBean request) {
+        Day day = Day.fromInteger(request.getDayNumber());
+        Part part = Part.fromInteger(request.getPartNumber());
+
+        return solveDetailed(day, part,
+                ingest(day, part, () -> PuzzleInput.fromFile(request.getInputPart().uploadedFile())),
+                request.getParameters());
+    }
+
+    /**
+     * Reads an uploaded input and computes its digest, within a
+     * {@link SolverEvents.Ingestion} event.
+     *
+     * @param day    Day the input is for
+     * @param part   Part the input is for
+     * @param reader Reads and decodes the upload
+     * @return The input, with its digest already computed
+     */
+    public PuzzleInput ingest(Day day, Part part, Supplier<PuzzleInput> reader) {
+        var event = new SolverEvents.Ingestion();
+        event.begin();
+
+        PuzzleInput input = reader.get();
+        input.digest();
+
+        event.end(day, part, input.size(), 0);
+        return input;
+    }
+
+    /**
+     * Solves one part of a puzzle, reusing the previous answer if the same
+     * input was already solved with the same parameters.
+     *
+     * If an identical request is already being solved, this waits for its
+     * answer instead of solving the puzzle again. Should that request be
+     * cancelled or time out, one of the waiting requests takes over.
+     *
+     * @param day        Day of the puzzle
+     * @param part       Part of the puzzle
+     * @param input      Puzzle input
+     * @param parameters Day-specific parameters
+     * @return The answer, as text
+     * @throws BadRequestException If the day 14 range of iterations is
+     *                             negative or inverted
+     */
+    public String solve(Day day, Part part, PuzzleInput input, SolverParameters parameters) {
+        return solveDetailed(day, part, input, parameters).answer();
+    }
+
+    /**
+     * Same as {@link #solve(Day, Part, PuzzleInput, SolverParameters)}, also
+     * reporting the timings and resources used to find the answer.
+     */
+    public SolveResult solveDetailed(Day day, Part part, PuzzleInput input, SolverParameters parameters) {
+        long startTime = metrics.requestStarted(day, part, input.size());
+        boolean failed = true;
+
+        try {
+            SolveResult result = solveShared(day, part, input, parameters);
+            failed = false;
+            return result.withWallNanos(System.nanoTime() - startTime);
+        } finally {
+            metrics.requestFinished(day, part, startTime, failed);
+        }
+    }
+
+    private SolveResult solveShared(Day day, Part part, PuzzleInput input, SolverParameters parameters) {
+        var relevantParameters = parameters.relevantTo(day, part);
+        Solver<?, ?> solver = configure(SolverRegistry.INSTANCE.get(day), relevantParameters);
+        // Every frame is kept in memory until the answer is complete, longer
+        // ranges have to be streamed through visualizeDay14()
+        if (solver instanceof Day14 day14 && part == Part.PART_2 && day14.visualize())
+            checkVisualizedRange(day14, day14MaxBufferedFrames);
+
+        var key = new ResultCache.Key(day, part, input.digest(), relevantParameters);
+
+        var cached = resultCache.get(key);
+        if (cached.isPresent()) {
+            logger.debug("{}, {}: answer found in cache", day, part);
+            metrics.cacheHit(day, part);
+            return SolveResult.cached(day.toInteger(), part.toInteger(), cached.get());
+        }
+
+        while (true) {
+            var computation = new CompletableFuture<String>();
+            var ongoing = inFlight.putIfAbsent(key, computation);
+
+            if (ongoing == null) {
+                return lead(key, computation, solver, input);
+            }
+
+            try {
+                logger.debug("{}, {}: waiting for an identical request", day, part);
+                return SolveResult.cached(day.toInteger(), part.toInteger(), ongoing.get());
+            } catch (CancellationException e) {
+                // The request being waited on gave up, try again.
+                continue;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                if (e.getCause() instanceof Error cause)
+                    throw cause;
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for an identical request");
+            }
+        }
+    }
+
+    /**
+     * Streams the frames of the day 14 visualization to the given sink, as
+     * they are drawn. Nothing is cached, and the sink is called from a
+     * worker thread of the solve.
+     *
+     * The whole stream must be written within solver.day14.stream-timeout,
+     * so that clients that stop reading do not hold their admission permit
+     * forever.
+     *
+     * @param input      Puzzle input
+     * @param parameters Iteration range to visualize
+     * @param frameSink  Receives every frame, in order
+     * @throws BadRequestException If the range has more frames than
+     *                             solver.day14.max-streamed-frames
+     */
+    public void visualizeDay14(PuzzleInput input, SolverParameters parameters, Consumer<String> frameSink) {
+        var solver = (Day14) configure(SolverRegistry.INSTANCE.get(Day.DAY_14), parameters);
+        checkVisualizedRange(solver, day14MaxStreamedFrames);
+
+        try (var permit = admissionController.admit(Day.DAY_14, Part.PART_2)) {
+            executionContext.run(() -> {
+                solver.visualize(input.text(), input.digest(), frameSink);
+                return null;
+            }, day14StreamTimeout);
+        }
+    }
+
+    /**
+     * Checks the range up front, so that the request fails before the
+     * response starts.
+     */
+    public void checkDay14Visualization(SolverParameters parameters) {
+        checkVisualizedRange((Day14) configure(SolverRegistry.INSTANCE.get(Day.DAY_14), parameters),
+                day14MaxStreamedFrames);
+    }
+
+    private static void checkVisualizedRange(Day14 solver, int maxFrames) {
+        long frames = (long) solver.iterationEnd() - solver.iterationStart();
+
+        if (frames > maxFrames)
+            throw new BadRequestException("At most " + maxFrames + " iterations can be visualized at once, got "
+                    + frames);
+    }
+
+    /**
+     * Solves both parts of every given input, running at most
+     * solver.batch.parallelism of them at the same time. A failing part
+     * does not stop the others, its error is reported in its result instead.
+     *
+     * @param inputs     Puzzle input of each day to be solved
+     * @param parameters Day-specific parameters, shared by all days
+     * @return One result per day and part, ordered by day and then by part
+     */
+    public List<BatchResult> solveBatch(Map<Day, PuzzleInput> inputs, SolverParameters parameters) {
+        if (inputs.isEmpty())
+            return List.of();
+
+        List<Future<BatchResult>> futures = new ArrayList<>();
+
+        int threads = Math.min(batchParallelism, 2 * inputs.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            inputs.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        for (Part part : Part.values()) {
+                            futures.add(executor.submit(
+                                    () -> solveBatchItem(entry.getKey(), part, entry.getValue(), parameters)));
+                        }
+                    });
+
+            try {
+                List<BatchResult> results = new ArrayList<>(futures.size());
+                for (var future : futures) {
+                    results.add(future.get());
+                }
+                return results;
+            } catch (InterruptedException e) {
+                // Interrupts the workers, which cancels their solves, so that
+                // closing the executor does not wait for all of them to finish
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while solving a batch");
+            }
+        } catch (ExecutionException e) {
+            // solveBatchItem never throws
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private BatchResult solveBatchItem(Day day, Part part, PuzzleInput input, SolverParameters parameters) {
+        long startTime = System.nanoTime();
+
+        try {
+            String answer = solve(day, part, input, parameters);
+            return new BatchResult(day.toInteger(), part.toInteger(), answer, null,
+                    System.nanoTime() - startTime);
+        } catch (RuntimeException | StackOverflowError e) {
+            // Deep inputs can overflow the stack of the recursive solvers,
+            // which only concerns this part
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return new BatchResult(day.toInteger(), part.toInteger(), null, error,
+                    System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Solves the puzzle on behalf of every request waiting on the given
+     * computation. Failures are shared with them, except for cancellation,
+     * which only concerns the request that was cancelled.
+     */
+    private SolveResult lead(ResultCache.Key key, CompletableFuture<String> computation,
+            Solver<?, ?> solver, PuzzleInput input) {
+        ExecutionContext.Measured<Computed> measured;
+
+        try {
+            // Only the leader takes admission permits: cache hits and
+            // requests waiting on an identical solve cost nothing.
+            try (var permit = admissionController.admit(key.day(), key.part())) {
+                // Interrupting this thread, e.g. on timeout, cancels the solve
+                measured = executionContext.runMeasured(() -> compute(key.day(), key.part(), solver, input, true));
+            }
+        } catch (Throwable e) {
+            inFlight.remove(key, computation);
+
+            if (e instanceof CancellationException || Thread.currentThread().isInterrupted()) {
+                computation.cancel(false);
+            } else {
+                computation.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        Computed computed = measured.value();
+        String answer = computed.answer();
+
+        resultCache.put(key, answer);
+        inFlight.remove(key, computation);
+        computation.complete(answer);
+
+        var usage = measured.usage();
+        return new SolveResult(key.day().toInteger(), key.part().toInteger(), answer, false, 0,
+                usage.cpuNanos(), usage.allocatedBytes(), computed.parseNanos(), computed.computeNanos(),
+                usage.threads());
+    }
+
+    /**
+     * Solves the sample the way a request would, in an execution context of
+     * its own, but without admission, caches or metrics. Warm-up then
+     * compiles the code that requests run, without skewing what they
+     * report.
+     *
+     * @throws RuntimeException Whatever the solver throws
+     */
+    void warmUp(Day day, Part part, PuzzleInput input) {
+        Solver<?, ?> solver = SolverRegistry.INSTANCE.get(day);
+        executionContext.run(() -> compute(day, part, solver, input, false));
+    }
+
+    /**
+     * @param recorded False to leave the parsed input cache and the metrics
+     *                 untouched
+     */
+    private Computed compute(Day day, Part part, Solver<?, ?> solver, PuzzleInput input, boolean recorded) {
+        if (solver instanceof ParsingSolver<?, ?, ?> parsingSolver)
+            return solveParsed(day, part, parsingSolver, input, recorded);
+
+        String text = input.text();
+        var event = new SolverEvents.Compute();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        Object value = switch (part) {
+            case PART_1 -> solver.solvePart1(text);
+            // The digest was already computed for the result cache
+            case PART_2 -> solver instanceof Day14 day14
+                    ? day14.solvePart2(text, input.digest())
+                    : solver.solvePart2(text);
         };
+
+        long computeNanos = System.nanoTime() - startTime;
+        if (recorded)
+            recordSolve(day, part, computeNanos);
+        event.end(day, part, input.size(), 0);
+
+        return new Computed(serialize(day, part, input, value), 0, computeNanos);
     }
 
-    public String solve() {
+    @SuppressWarnings("unchecked")
+    private Computed solveParsed(Day day, Part part, ParsingSolver<?, ?, ?> solver, PuzzleInput input,
+            boolean recorded) {
+        // The parsed model was produced by this same solver, so its type
+        // always matches what the solver expects.
+        var typedSolver = (ParsingSolver<Object, ?, ?>) solver;
+        long parseStartTime = System.nanoTime();
+        Supplier<Object> parser = () -> {
+            var event = new SolverEvents.Parse();
+            event.begin();
+            long startTime = System.nanoTime();
+
+            Object model = typedSolver.parse(input.text());
+
+            if (recorded)
+                metrics.recordParse(day, part, System.nanoTime() - startTime);
+            event.end(day, part, input.size(), 0);
+            return model;
+        };
+        Object parsed = recorded
+                ? parsedInputCache.getOrParse(new ParsedInputCache.Key(day, input.digest()), parser)
+                : parser.get();
+        long parseNanos = System.nanoTime() - parseStartTime;
+
+        var event = new SolverEvents.Compute();
+        event.begin();
         long startTime = System.nanoTime();
 
-        var value = switch (part) {
-            case PART_1 -> solverImpl.solvePart1(input);
-            case PART_2 -> solverImpl.solvePart2(input);
+        Object value = switch (part) {
+            case PART_1 -> typedSolver.solvePart1(parsed);
+            case PART_2 -> typedSolver.solvePart2(parsed);
         };
 
-        long endTime = System.nanoTime();
+        long computeNanos = System.nanoTime() - startTime;
+        if (recorded)
+            recordSolve(day, part, computeNanos);
+        event.end(day, part, input.size(), 0);
+
+        return new Computed(serialize(day, part, input, value), parseNanos, computeNanos);
+    }
+
+    private static String serialize(Day day, Part part, PuzzleInput input, Object value) {
+        var event = new SolverEvents.Serialization();
+        event.begin();
+        String answer = value.toString();
+        event.end(day, part, input.size(), answer.length());
 
-        logger.info("{}, {}: \n Took {} nanoseconds to run", day, part,
-                NumberFormat.getInstance().format(endTime - startTime));
+        return answer;
+    }
 
-        return value.toString();
+    private void recordSolve(Day day, Part part, long nanos) {
+        metrics.recordSolve(day, part, nanos);
+        logger.debug("{}, {}: solved in {} ms", day, part, nanos / 1_000_000);
     }
 
-    private void readInputFromInputStream(InputStream inputStream) {
-        var stringBuilder = new StringBuilder();
+    /**
+     * Current request counts, latencies and cache usage.
+     */
+    public SolverMetrics.Snapshot metrics() {
+        return metrics.snapshot(resultCache);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                stringBuilder.append(line).append("\n");
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    "Could not read the input file.\n" + e.getLocalizedMessage());
+    public ResultCache resultCache() {
+        return resultCache;
+    }
+
+    private record Computed(String answer, long parseNanos, long computeNanos) {
+    }
+
+    private Solver<?, ?> configure(Solver<?, ?> solver, SolverParameters parameters) {
+        if (solver instanceof Day14 day14) {
+            int start = parameters.day14IterationStart().orElse(day14.iterationStart());
+            int end = parameters.day14IterationEnd().orElse(day14.iterationEnd());
+
+            if (start < 0 || end < start)
+                throw new BadRequestException("Invalid range of iterations: [" + start + ", " + end + "]");
+
+            return day14.withIterations(start, end, parameters.day14Visualize());
         }
 
-        this.input = stringBuilder.toString();
+        return solver;
     }
 }
@@ -0,0 +1,196 @@
+package com.adventofcode.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Runs the solvers against the bundled samples right after startup, so
+ * that the first real requests do not pay for interpreting and compiling
+ * the solver code. Samples go through {@link SolverService}, in an
+ * execution context of their own like requests, only skipping admission,
+ * caches and metrics.
+ *
+ * The samples are solved in rounds, in a background thread, until the JIT
+ * compiler barely did anything during the last rounds or the budget runs
+ * out. Until then, {@link WarmUpCheck} reports the application as not
+ * ready.
+ */
+@ApplicationScoped
+public class WarmUp {
+    private static final int MIN_ROUNDS = 3;
+    // Rounds run when the JVM cannot tell how much it compiled
+    private static final int FALLBACK_ROUNDS = 10;
+    // Compilation settled once it takes less than this share of a round...
+    private static final double SETTLED_COMPILATION_SHARE = 0.1;
+    // ...for this many rounds in a row
+    private static final int SETTLED_ROUNDS = 2;
+
+    private final boolean enabled;
+    private final Duration budget;
+    private final Optional<List<Integer>> days;
+    private final SolverService solverService;
+
+    private volatile boolean done;
+    private volatile int rounds;
+
+    Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public WarmUp(
+            @ConfigProperty(name = "solver.warm-up.enabled") boolean enabled,
+            @ConfigProperty(name = "solver.warm-up.budget") Duration budget,
+            @ConfigProperty(name = "solver.warm-up.days") Optional<List<Integer>> days,
+            SolverService solverService) {
+        this.enabled = enabled;
+        this.budget = budget;
+        this.days = days;
+        this.solverService = solverService;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            done = true;
+            return;
+        }
+
+        Thread.ofPlatform().name("solver-warm-up").daemon().start(this::run);
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    void run() {
+        try {
+            List<Sample> samples = loadSamples();
+            logger.info("Warming up {} solver parts, for at most {}", samples.size(), budget);
+
+            long startTime = System.nanoTime();
+            String outcome = warmUp(samples, startTime + budget.toNanos());
+
+            logger.info("Warm-up {} after {} rounds and {} ms", outcome, rounds,
+                    (System.nanoTime() - startTime) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up failed", e);
+        } finally {
+            done = true;
+        }
+    }
+
+    private String warmUp(List<Sample> samples, long deadline) {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean monitored = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+
+        int settledRounds = 0;
+        long compilationTime = monitored ? compiler.getTotalCompilationTime() : 0;
+
+        while (!samples.isEmpty()) {
+            if (System.nanoTime() >= deadline)
+                return "ran out of budget";
+
+            long roundStart = System.nanoTime();
+            solveAll(samples, deadline);
+            long roundMillis = (System.nanoTime() - roundStart) / 1_000_000;
+            ++rounds;
+
+            if (!monitored) {
+                if (rounds >= FALLBACK_ROUNDS)
+                    return "done";
+                continue;
+            }
+
+            long previousCompilationTime = compilationTime;
+            compilationTime = compiler.getTotalCompilationTime();
+            long compilationMillis = compilationTime - previousCompilationTime;
+
+            if (compilationMillis <= roundMillis * SETTLED_COMPILATION_SHARE) {
+                ++settledRounds;
+            } else {
+                settledRounds = 0;
+            }
+
+            logger.debug("Warm-up round {}: {} ms, {} ms compiling", rounds, roundMillis, compilationMillis);
+
+            if (rounds >= MIN_ROUNDS && settledRounds >= SETTLED_ROUNDS)
+                return "settled";
+        }
+
+        return "had nothing to run";
+    }
+
+    private void solveAll(List<Sample> samples, long deadline) {
+        Iterator<Sample> iterator = samples.iterator();
+
+        while (iterator.hasNext() && System.nanoTime() < deadline) {
+            Sample sample = iterator.next();
+
+            try {
+                solverService.warmUp(sample.day(), sample.part(), sample.input());
+            } catch (RuntimeException e) {
+                // Not implemented, or the sample does not suit it: no point
+                // in trying again
+                logger.debug("Skipping {}, {} during warm-up: {}", sample.day(), sample.part(), e.toString());
+                iterator.remove();
+            }
+        }
+    }
+
+    private List<Sample> loadSamples() {
+        List<Day> selected = days
+                .map(numbers -> numbers.stream().map(Day::fromInteger).toList())
+                .orElseGet(() -> List.copyOf(SolverRegistry.INSTANCE.days()));
+
+        List<Sample> samples = new ArrayList<>();
+        for (Day day : selected) {
+            Optional<PuzzleInput> input = readSample(day);
+            if (input.isEmpty()) {
+                logger.debug("No warm-up sample for {}", day);
+                continue;
+            }
+
+            for (Part part : Part.values()) {
+                samples.add(new Sample(day, part, input.get()));
+            }
+        }
+
+        return samples;
+    }
+
+    private static Optional<PuzzleInput> readSample(Day day) {
+        String resource = "samples/day" + day.toInteger() + ".txt";
+
+        try (InputStream stream = WarmUp.class.getClassLoader().getResourceAsStream(resource)) {
+            if (stream == null)
+                return Optional.empty();
+
+            return Optional.of(PuzzleInput.fromBytes(stream.readAllBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Sample(Day day, Part part, PuzzleInput input) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.adventofcode.service;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Reports the application as ready once the solvers are warmed up.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmUpCheck implements HealthCheck {
+
+    @Inject
+    WarmUp warmUp;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("solver-warm-up")
+                .status(warmUp.isDone())
+                .withData("rounds", warmUp.rounds())
+                .build();
+    }
+}
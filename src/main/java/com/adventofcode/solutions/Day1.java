@@ -1,18 +1,20 @@
 package com.adventofcode.solutions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import com.adventofcode.util.Functions;
 import com.adventofcode.util.Pair;
+import com.adventofcode.util.counters.IntCounter;
 
-public enum Day1 implements Solver<Integer, Integer> {
+// The sums are Long, as inputs of many lines, such as the larger generated
+// ones, add up past Integer.MAX_VALUE
+public enum Day1 implements Solver<Long, Long> {
     INSTANCE;
 
     @Override
-    public Integer solvePart1(String input) {
+    public Long solvePart1(String input) {
         return parseLocations(input)
                 .map(pair -> {
                     // Sorts the left and right columns
@@ -26,30 +28,29 @@ public enum Day1 implements Solver<Integer, Integer> {
                     return Functions.zip(left, right);
                 })
                 .stream()
-                .mapToInt(v -> Math.abs(v.first() - v.second()))
+                .mapToLong(v -> Math.abs((long) v.first() - v.second()))
                 .sum();
     }
 
     @Override
-    public Integer solvePart2(String input) {
+    public Long solvePart2(String input) {
         final var locations = parseLocations(input);
         return calculateSimilarities(locations)
                 .sum();
     }
 
-    IntStream calculateSimilarities(Pair<List<Integer>, List<Integer>> locations) {
+    LongStream calculateSimilarities(Pair<List<Integer>, List<Integer>> locations) {
         var left = locations.first();
         var right = locations.second();
-        var counter = new HashMap<Integer, Integer>(left.size() + right.size());
+        var counter = new IntCounter(right.size());
 
         // Count how many times each value appears on the second list
         for (int value : right) {
-            var currentCount = counter.getOrDefault(value, 0);
-            counter.put(value, currentCount + 1);
+            counter.increment(value);
         }
 
         return left.stream()
-                .mapToInt(value -> value * counter.getOrDefault(value, 0));
+                .mapToLong(value -> (long) value * counter.get((int) value));
     }
 
     Pair<List<Integer>, List<Integer>> parseLocations(String input) {
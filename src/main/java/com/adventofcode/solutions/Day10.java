@@ -1,149 +1,113 @@
 package com.adventofcode.solutions;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
+import com.adventofcode.util.BitGrid;
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
+import com.adventofcode.util.Grid;
 
-public enum Day10 implements Solver<Integer, Integer> {
+public enum Day10 implements ParsingSolver<Day10.HeightMap, Integer, Integer> {
     INSTANCE;
 
-    @Override
-    public Integer solvePart1(String input) {
-        HeightMap heightMap = parseInput(input);
-
-        List<Pair<Integer, Integer>> trailheads = new ArrayList<>();
-        for (int y = 0; y < heightMap.numOfRows; y++) {
-            for (int x = 0; x < heightMap.numOfColumns; ++x) {
-                var pos = new Pair<>(x, y);
-                if (heightMap.getHeight(pos) == 0)
-                    trailheads.add(pos);
-            }
-        }
+    // values() copies the array on every call
+    private static final Direction[] DIRECTIONS = Direction.values();
 
-        return trailheads.parallelStream()
-                .mapToInt(pos -> calculateScore(pos, heightMap, Optional.empty()))
+    @Override
+    public Integer solvePart1(HeightMap heightMap) {
+        var token = CancellationToken.current();
+        var heights = heightMap.heights();
+        // One set per worker, cleared between trailheads: clearing only
+        // touches the cells of the previous trail, while a new set would
+        // cost the whole grid for every trailhead
+        ThreadLocal<BitGrid> visitedByWorker = ThreadLocal
+                .withInitial(() -> new BitGrid(heights.width(), heights.height()));
+
+        return Arrays.stream(heightMap.trailheads())
+                .parallel()
+                .map(pos -> {
+                    token.throwIfCancelled();
+                    BitGrid visited = visitedByWorker.get();
+                    visited.clear();
+                    return calculateScore(pos, heightMap, visited);
+                })
                 .sum();
     }
 
     @Override
-    public Integer solvePart2(String input) {
-        HeightMap heightMap = parseInput(input);
-
-        List<Pair<Integer, Integer>> trailheads = new ArrayList<>();
-        List<Pair<Integer, Integer>> trailEnds = new ArrayList<>();
-        for (int y = 0; y < heightMap.numOfRows; y++) {
-            for (int x = 0; x < heightMap.numOfColumns; ++x) {
-                var pos = new Pair<>(x, y);
-                switch (heightMap.getHeight(pos)) {
-                    case 0:
-                        trailheads.add(pos);
-                        break;
-                    case 9:
-                        trailEnds.add(pos);
-                        break;
-                }
-            }
-        }
-
-        return trailheads.parallelStream()
-                .mapToInt(pos -> calculateRating(pos, trailEnds, heightMap))
+    public Integer solvePart2(HeightMap heightMap) {
+        var token = CancellationToken.current();
+
+        return Arrays.stream(heightMap.trailheads())
+                .parallel()
+                .map(pos -> {
+                    token.throwIfCancelled();
+                    return calculateRating(pos, heightMap);
+                })
                 .sum();
     }
 
-    int calculateRating(Pair<Integer, Integer> position, List<Pair<Integer, Integer>> trailEnds, HeightMap heightMap) {
-
-        List<Pair<Integer, Integer>> currentPath = new ArrayList<>();
-        List<List<Pair<Integer, Integer>>> allPaths = new ArrayList<>();
-
-        traversePaths(position, trailEnds, heightMap,
-                currentPath,
-                allPaths);
-
-        return allPaths.size();
-
-    }
+    /**
+     * Number of distinct trails from the position to any trail end.
+     */
+    int calculateRating(int position, HeightMap heightMap) {
+        var height = heightMap.getHeight(position);
+        if (height == 9) {
+            return 1;
+        }
 
-    void traversePaths(Pair<Integer, Integer> position, List<Pair<Integer, Integer>> trailEnds, HeightMap heightMap,
-            List<Pair<Integer, Integer>> currentPath,
-            List<List<Pair<Integer, Integer>>> allPaths) {
-        currentPath.add(position);
-
-        if (trailEnds.contains(position)) {
-            allPaths.add(currentPath);
-        } else {
-            var height = heightMap.getHeight(position);
-
-            for (Direction direction : Direction.values()) {
-                var newPosition = new Pair<>(position.x() + direction.asPair().x(),
-                        position.y() + direction.asPair().y());
-                if (isInBounds(newPosition, heightMap)
-                        && heightMap.getHeight(newPosition) == height + 1) {
-                    traversePaths(newPosition, trailEnds, heightMap,
-                            currentPath, allPaths);
-                }
+        int count = 0;
+        for (Direction direction : DIRECTIONS) {
+            int newPosition = heightMap.heights().neighbour(position, direction);
+            if (newPosition >= 0 && heightMap.getHeight(newPosition) == height + 1) {
+                count += calculateRating(newPosition, heightMap);
             }
         }
+        return count;
     }
 
-    int calculateScore(Pair<Integer, Integer> position, HeightMap heightMap,
-            Optional<Set<Pair<Integer, Integer>>> previouslyVisited) {
-
-        Set<Pair<Integer, Integer>> visited = previouslyVisited.orElse(new HashSet<>());
-
-        if (visited.contains(position)) {
+    /**
+     * Number of trail ends reachable from the position that were not
+     * visited yet.
+     */
+    int calculateScore(int position, HeightMap heightMap, BitGrid visited) {
+        if (!visited.add(position)) {
             return 0;
         }
 
-        visited.add(position);
         int height = heightMap.getHeight(position);
         if (height == 9) {
             return 1;
         }
 
         int count = 0;
-        for (Direction direction : Direction.values()) {
-            var newPosition = new Pair<>(position.x() + direction.asPair().x(),
-                    position.y() + direction.asPair().y());
-            if (isInBounds(newPosition, heightMap)
-                    && heightMap.getHeight(newPosition) == height + 1) {
-                count += calculateScore(newPosition, heightMap, Optional.of(visited));
+        for (Direction direction : DIRECTIONS) {
+            int newPosition = heightMap.heights().neighbour(position, direction);
+            if (newPosition >= 0 && heightMap.getHeight(newPosition) == height + 1) {
+                count += calculateScore(newPosition, heightMap, visited);
             }
         }
         return count;
     }
 
-    private boolean isInBounds(Pair<Integer, Integer> position, HeightMap heightMap) {
-        return isInBounds(position.x(), position.y(), heightMap);
-    }
-
-    private boolean isInBounds(int x, int y, HeightMap heightMap) {
-        return 0 <= x
-                && x < heightMap.numOfColumns()
-                && 0 <= y
-                && y < heightMap.numOfRows();
-    }
-
-    HeightMap parseInput(String input) {
-        List<List<Integer>> heights = input.lines()
-                .map(s -> s.chars().map(c -> c - 48).boxed().toList())
-                .toList();
-        int numOfRows = heights.size();
-        int numOfColumns = heights.get(0).size();
-        return new HeightMap(heights, numOfRows, numOfColumns);
+    @Override
+    public HeightMap parse(String input) {
+        return new HeightMap(Grid.parse(input));
     }
 
-    private record HeightMap(List<List<Integer>> heights, int numOfRows, int numOfColumns) {
-        public int getHeight(int x, int y) {
-            return heights.get(y).get(x);
+    /**
+     * Positions are indexes in the grid of heights.
+     */
+    record HeightMap(Grid heights) {
+        public int getHeight(int position) {
+            return heights.getAt(position) - '0';
         }
 
-        public int getHeight(Pair<Integer, Integer> coord) {
-            return getHeight(coord.first(), coord.second());
+        public int[] trailheads() {
+            return IntStream.range(0, heights.size())
+                    .filter(position -> getHeight(position) == 0)
+                    .toArray();
         }
     }
 
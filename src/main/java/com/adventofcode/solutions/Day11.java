@@ -1,23 +1,26 @@
 package com.adventofcode.solutions;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Spliterator;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import com.adventofcode.util.Functions;
+import com.adventofcode.util.CancellationToken;
+import com.adventofcode.util.counters.LongCounter;
 
 public enum Day11 implements Solver<Integer, Long> {
     INSTANCE;
 
+    // Every power of ten that fits in a long, to split stones without
+    // formatting them as strings
+    private static final long[] POWERS_OF_TEN = LongStream.iterate(1, power -> power * 10)
+            .limit(19)
+            .toArray();
+
     @Override
     public Integer solvePart1(String input) {
         var stones = parseInput(input);
@@ -48,69 +51,68 @@ public enum Day11 implements Solver<Integer, Long> {
     }
 
     private static class SmartBlinker {
-        Map<Long, List<Long>> memo = new HashMap<>();
-        Map<Long, Long> stoneCounter = new HashMap<>();
+        // Blinking is started from the thread that created the blinker
+        final CancellationToken token = CancellationToken.current();
+        LongCounter stoneCounter = new LongCounter();
+        // Swapped with stoneCounter on every blink, so that the tables are
+        // allocated only once
+        LongCounter nextCounter = new LongCounter();
 
         SmartBlinker(List<Integer> stones) {
             for (long stone : stones) {
-                addToCounter(stoneCounter, stone, 1);
+                stoneCounter.increment(stone);
             }
         }
 
         public long countStones() {
-            return stoneCounter.values().stream().reduce(0l, Long::sum);
+            return stoneCounter.total();
         }
 
         public void blink(int iterations) {
             for (int i = 0; i < iterations; ++i) {
+                token.throwIfCancelled();
                 blink();
             }
         }
 
         public void blink() {
-            Map<Long, Long> newCounter = new HashMap<>();
-
-            for (var entry : stoneCounter.entrySet()) {
-                long stone = entry.getKey();
-                long currentCount = entry.getValue();
+            nextCounter.clear();
 
-                for (var newStone : generateNewStones(stone)) {
-                    addToCounter(newCounter, newStone, currentCount);
+            stoneCounter.forEachCount((stone, currentCount) -> {
+                if (stone == 0) {
+                    nextCounter.incrementBy(1L, currentCount);
+                    return;
                 }
-            }
-            this.stoneCounter = newCounter;
-        }
-
-        List<Long> generateNewStones(Long stone) {
-            return memo.computeIfAbsent(stone, value -> {
-                if (value == 0) {
-                    return List.of(1L);
-                } else if (value.toString().length() % 2 == 0) {
-                    var valueString = value.toString();
-                    var length = valueString.length();
 
-                    var firstHalf = Long.valueOf(valueString.substring(0, length / 2));
-                    var secondHalf = Long.valueOf(valueString.substring(length / 2));
-
-                    return List.of(firstHalf, secondHalf);
+                int digits = countDigits(stone);
+                if (digits % 2 == 0) {
+                    long half = POWERS_OF_TEN[digits / 2];
+                    nextCounter.incrementBy(stone / half, currentCount);
+                    nextCounter.incrementBy(stone % half, currentCount);
                 } else {
-                    return List.of(value * 2024L);
+                    nextCounter.incrementBy(stone * 2024L, currentCount);
                 }
             });
-        }
 
-        private static void addToCounter(Map<Long, Long> counter,
-                long stone,
-                long amount) {
-            counter.put(stone, counter.getOrDefault(stone, 0l) + amount);
+            var previousCounter = stoneCounter;
+            stoneCounter = nextCounter;
+            nextCounter = previousCounter;
         }
 
+        private static int countDigits(long stone) {
+            int digits = 1;
+            while (digits < POWERS_OF_TEN.length && stone >= POWERS_OF_TEN[digits]) {
+                ++digits;
+            }
+            return digits;
+        }
     }
 
     private static class Blinker implements Spliterator<List<Long>> {
         List<Long> stones;
         final boolean guaranteeOrder;
-        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        // The stream is consumed by the thread that created the blinker
+        final CancellationToken token = CancellationToken.current();
 
         public Blinker(List<Integer> stones, boolean guaranteeOrder) {
             if (stones == null) {
@@ -127,14 +129,9 @@ public enum Day11 implements Solver<Integer, Long> {
         }
 
         private void blink() {
-            final List<Long> newStones = new ArrayList<>(2 * this.stones.size());
-            // Although the problem description states that the
-            // order should never change, part 1 only requires
-            // the total count, so using a parallel stream
-            // should not alter the final result.
-            Consumer<Long> task = value -> {
+            Function<Long, Stream<Long>> task = value -> {
                 if (value == 0) {
-                    newStones.add(1L);
+                    return Stream.of(1L);
                 } else if (value.toString().length() % 2 == 0) {
                     var valueString = value.toString();
                     var length = valueString.length();
@@ -142,31 +139,22 @@ public enum Day11 implements Solver<Integer, Long> {
                     var firstHalf = Long.valueOf(valueString.substring(0, length / 2));
                     var secondHalf = Long.valueOf(valueString.substring(length / 2));
 
-                    newStones.add(firstHalf);
-                    newStones.add(secondHalf);
+                    return Stream.of(firstHalf, secondHalf);
                 } else {
-                    newStones.add(value * 2024L);
+                    return Stream.of(value * 2024L);
                 }
             };
 
-            if (guaranteeOrder) {
-                stones.stream().forEach(task);
-            } else {
-                // FIXME: There is some bug when trying to run in parallel, though
-                // both using parallelStream() or implementing using completable
-                // futures does not work, and return random results each time.
-                // Must investigate further later.
-                List<CompletableFuture<Void>> futures = new ArrayList<>();
-                for (long value : stones) {
-                    futures.add(CompletableFuture.runAsync(() -> task.accept(value), executor));
-                }
-                Functions.joinAllAndClear(futures);
-            }
-            this.stones = List.copyOf(newStones);
+            // Each stone is mapped independently and the results are
+            // collected by the stream, so this is safe to run in parallel.
+            // The tasks run in the pool of the current solve, if any.
+            var stream = guaranteeOrder ? stones.stream() : stones.parallelStream();
+            this.stones = stream.flatMap(task).toList();
         }
 
         @Override
         public boolean tryAdvance(Consumer<? super List<Long>> action) {
+            token.throwIfCancelled();
             blink();
             action.accept(stones);
             // Infinite iterator
@@ -1,148 +1,153 @@
 package com.adventofcode.solutions;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.adventofcode.util.BitGrid;
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
+import com.adventofcode.util.Grid;
 
-public enum Day12 implements Solver<Long, Integer> {
+public enum Day12 implements ParsingSolver<Day12.Garden, Long, Integer> {
     INSTANCE;
 
     @Override
-    public Long solvePart1(String input) {
-        return parseInput(input).regions()
+    public Long solvePart1(Garden garden) {
+        return garden.regions()
                 .parallel()
                 .mapToLong(Region::price)
                 .sum();
     }
 
     @Override
-    public Integer solvePart2(String input) {
-        return parseInput(input).regions()
+    public Integer solvePart2(Garden garden) {
+        return garden.regions()
                 .parallel()
                 .mapToInt(Region::discountedPrice)
                 .sum();
 
     }
 
-    Grid parseInput(String input) {
+    @Override
+    public Garden parse(String input) {
+        return new Garden(Grid.parse(input));
+    }
 
-        List<Cell> cells = new ArrayList<>();
+    static class Garden {
+        // values() copies the array on every call
+        private static final Direction[] DIRECTIONS = Direction.values();
 
-        var lines = input.lines().toList();
-        var numOfRows = lines.size();
-        var numOfColumns = lines.get(0).length();
+        final Grid plots;
+        // Kept as a list rather than a stream, so that the regions can be
+        // traversed once per part from the same parsed grid.
+        final List<Region> _regions;
 
-        for (int y = 0; y < numOfRows; y++) {
-            for (int x = 0; x < numOfColumns; x++) {
-                Cell cell = new Cell(lines.get(y).charAt(x), new Pair<>(x, y));
-                cells.add(cell);
-            }
+        Garden(Grid plots) {
+            this.plots = plots;
+            this._regions = initRegions();
         }
 
-        return new Grid(cells, numOfRows, numOfColumns);
-    }
-
-    record Cell(char id, Pair<Integer, Integer> position) {
-    }
-
-    static class Grid {
-        final List<Cell> _cells;
-        final int _numOfRows;
-        final int _numOfColumns;
-
-        // Same as cells, but implemented as a Map to make look-up
-        // easier and more efficient.
-        final Map<Pair<Integer, Integer>, Character> cellMap;
-        Stream<Region> _regions;
-        // Marks whether a cell already belongs to a region.
-        Set<Cell> visited = new HashSet<>();
+        private List<Region> initRegions() {
+            var token = CancellationToken.current();
+            List<Region> regions = new ArrayList<>();
+            // Marks whether a plot already belongs to a region.
+            BitGrid visited = new BitGrid(plots.width(), plots.height());
+            // Plots of the current region still to be expanded, reused for
+            // every region
+            int[] pending = new int[plots.size()];
 
-        Grid(List<Cell> cells, int numOfRows, int numOfColumns) {
-            this._cells = cells;
-            this._numOfRows = numOfRows;
-            this._numOfColumns = numOfColumns;
+            for (int plot = 0; plot < plots.size(); ++plot) {
+                if (visited.contains(plot)) {
+                    continue;
+                }
 
-            final Map<Pair<Integer, Integer>, Character> _cellMap = new HashMap<>();
-            for (var cell : cells) {
-                _cellMap.put(cell.position(), cell.id());
+                token.throwIfCancelled();
+                regions.add(traverseRegion(plot, visited, pending));
             }
-            this.cellMap = _cellMap;
 
-            initRegions();
+            return List.copyOf(regions);
         }
 
-        private void initRegions() {
-            Stream.Builder<Region> regionBuilder = Stream.builder();
-
-            for (Cell cell : cells()) {
-                if (visited.contains(cell)) {
-                    continue;
+        /**
+         * Flood fills the region of the plot, measuring it on the way.
+         */
+        private Region traverseRegion(int initialPlot, BitGrid visited, int[] pending) {
+            final char id = plots.getAt(initialPlot);
+            int area = 0;
+            int perimeter = 0;
+            int sides = 0;
+
+            int pendingCount = 0;
+            pending[pendingCount++] = initialPlot;
+            visited.add(initialPlot);
+
+            while (pendingCount > 0) {
+                int plot = pending[--pendingCount];
+                ++area;
+                sides += countCorners(plot, id);
+
+                for (Direction direction : DIRECTIONS) {
+                    int neighbour = plots.neighbour(plot, direction);
+
+                    if (neighbour < 0 || plots.getAt(neighbour) != id) {
+                        // Every fence is between a plot of the region and
+                        // one outside of it
+                        ++perimeter;
+                    } else if (visited.add(neighbour)) {
+                        pending[pendingCount++] = neighbour;
+                    }
                 }
-
-                List<Cell> path = traverseRegion(cell);
-                regionBuilder.add(new Region(path));
             }
 
-            this._regions = regionBuilder.build();
+            return new Region(id, area, perimeter, sides);
         }
 
-        private List<Cell> traverseRegion(Cell initialCell) {
+        /**
+         * A region has as many sides as corners, so the corners of every
+         * plot are counted instead of following the fences. Looking at the
+         * two orthogonal neighbours on each side of a corner and the
+         * diagonal one between them, the corner turns outwards if neither
+         * neighbour belongs to the region, and inwards if both do but the
+         * diagonal one does not.
+         */
+        private int countCorners(int plot, char id) {
+            int x = plot % plots.width();
+            int y = plot / plots.width();
+            int corners = 0;
 
-            final char id = initialCell.id();
+            for (Direction direction : DIRECTIONS) {
+                Direction next = direction.rotateClockwise();
 
-            final var path = new ArrayList<Cell>();
-            if (visited.contains(initialCell)) {
-                return path;
-            }
+                boolean first = isInRegion(x + direction.dx(), y + direction.dy(), id);
+                boolean second = isInRegion(x + next.dx(), y + next.dy(), id);
+                boolean diagonal = isInRegion(x + direction.dx() + next.dx(), y + direction.dy() + next.dy(), id);
 
-            path.add(initialCell);
-            visited.add(initialCell);
-            for (Direction direction : Direction.values()) {
-                var newPosition = new Pair<>(initialCell.position().x() + direction.asPair().x(),
-                        initialCell.position().y() + direction.asPair().y());
-
-                if (isInBounds(newPosition) && cellMap.get(newPosition) == id) {
-                    var nextCell = new Cell(id, newPosition);
-                    traverseRegion(nextCell).forEach(cell -> path.add(cell));
-                }
+                if ((!first && !second) || (first && second && !diagonal))
+                    ++corners;
             }
-            return path;
+
+            return corners;
         }
 
-        public List<Cell> cells() {
-            return this._cells;
+        private boolean isInRegion(int x, int y, char id) {
+            return plots.isInBounds(x, y) && plots.get(x, y) == id;
         }
 
         public int numOfRows() {
-            return this._numOfRows;
+            return plots.height();
         }
 
         public int numOfColumns() {
-            return this._numOfColumns;
+            return plots.width();
         }
 
         public Stream<Region> regions() {
-            return this._regions;
-        }
-
-        private boolean isInBounds(Pair<Integer, Integer> position) {
-            return 0 <= position.x()
-                    && position.x() < numOfColumns()
-                    && 0 <= position.y()
-                    && position.y() < numOfRows();
+            return this._regions.stream();
         }
     }
 
-    record Region(List<Cell> cells) {
+    record Region(char id, int area, int perimeter, int sides) {
         public long price() {
             return (long) area() * (long) perimeter();
         }
@@ -150,300 +155,5 @@ public enum Day12 implements Solver<Long, Integer> {
         public int discountedPrice() {
             return area() * sides();
         }
-
-        public int area() {
-            return cells().size();
-        }
-
-        public int perimeter() {
-            return edges().size();
-        }
-
-        public int sides() {
-
-            int turns = 0;
-
-            var corners = corners();
-            Map<Corner, Integer> remainingVisits = numberOfPasses(corners);
-
-            Corner startingCorner = pickTrueCorner(corners);
-
-            turns += countTurns(startingCorner, corners, remainingVisits);
-
-            List<Corner> unvisitedCorners = new ArrayList<>(corners.stream()
-                    .filter(corner -> remainingVisits.getOrDefault(corner, 0) > 0)
-                    .toList());
-
-            while (!unvisitedCorners.isEmpty()) {
-                startingCorner = unvisitedCorners.removeFirst();
-
-                if (remainingVisits.getOrDefault(startingCorner, 0) > 0
-                        && isValidStart(startingCorner, corners))
-                    turns += countTurns(startingCorner, corners, remainingVisits);
-            }
-
-            return turns;
-        }
-
-        private Corner pickTrueCorner(Set<Corner> corners) {
-            // Only start from true corners, i. e. there are
-            // two valid possible continuations.
-            var cornerIterator = corners.iterator();
-            Corner startingCorner;
-            boolean validStart = false;
-            do {
-                startingCorner = cornerIterator.next();
-                validStart = isValidStart(startingCorner, corners);
-            } while (!validStart);
-
-            return startingCorner;
-        }
-
-        private Map<Corner, Integer> numberOfPasses(Collection<Corner> corners) {
-
-            Map<Corner, Integer> countPasses = new HashMap<>();
-
-            for (Corner corner : corners) {
-
-                List<Direction> validContinuations = new ArrayList<>();
-
-                for (Direction direction : Direction.values()) {
-
-                    var nextCorner = Corner.move(corner, direction);
-
-                    boolean isValidCorner = corners.contains(nextCorner);
-
-                    if (isValidCorner && isValidEdge(corner, direction)) {
-                        validContinuations.add(direction);
-                    }
-                }
-
-                // Should pass once for every two possible continuations
-                countPasses.put(corner, validContinuations.size() / 2);
-            }
-            return countPasses;
-
-        }
-
-        private boolean isValidStart(Corner startingCorner, Set<Corner> corners) {
-            List<Direction> validContinuations = new ArrayList<>();
-
-            for (Direction direction : Direction.values()) {
-
-                var nextCorner = Corner.move(startingCorner, direction);
-
-                boolean isValidCorner = corners.contains(nextCorner);
-
-                if (isValidCorner && isValidEdge(startingCorner, direction)) {
-                    validContinuations.add(direction);
-                }
-            }
-            return validContinuations.size() == 2
-                    && validContinuations.get(0).isPerpendicular(validContinuations.get(1));
-        }
-
-        private int countTurns(Corner startingCorner, Set<Corner> corners,
-                Map<Corner, Integer> remainingVisits) {
-            int turns = 0;
-
-            Corner currentCorner = startingCorner;
-            Direction previousDirection = null;
-            boolean canAdvance;
-            do {
-                canAdvance = false;
-                int directionsTried = 0;
-
-                Direction direction = previousDirection != null
-                        // Prioritize clockwise rotation.
-                        ? previousDirection.rotateClockwise()
-                        // Arbitrary initial direction
-                        : Direction.UP;
-                while (directionsTried < Direction.values().length) {
-                    var nextCorner = Corner.move(currentCorner, direction);
-
-                    boolean isValidCorner = corners.contains(nextCorner);
-                    boolean canVisit = remainingVisits.getOrDefault(nextCorner, 0) > 0;
-                    boolean isNewDirection = previousDirection != direction;
-                    boolean isPerpendicular = previousDirection == null || previousDirection.isPerpendicular(direction);
-
-                    if ((!isNewDirection || isPerpendicular)
-                            && isValidCorner
-                            && isValidEdge(currentCorner, direction)
-                            && canVisit) {
-                        canAdvance = true;
-                        if (isNewDirection)
-                            turns++;
-
-                        previousDirection = direction;
-                        currentCorner = nextCorner;
-                        remainingVisits.put(currentCorner,
-                                remainingVisits.get(currentCorner) - 1);
-                        break;
-                    }
-                    direction = direction.rotateClockwise();
-                    directionsTried++;
-                }
-
-            } while (canAdvance);
-
-            return turns;
-        }
-
-        // Check if there is an edge linked to the corner in the
-        // given direction
-        boolean isValidEdge(Corner from, Direction direction) {
-            return switch (direction) {
-                case UP -> edges().contains(Set.of(
-                        from.upperLeft(),
-                        from.upperRight()));
-                case RIGHT -> edges().contains(Set.of(
-                        from.lowerRight(),
-                        from.upperRight()));
-                case DOWN -> edges().contains(Set.of(
-                        from.lowerRight(),
-                        from.lowerLeft()));
-                case LEFT -> edges().contains(Set.of(
-                        from.lowerLeft(),
-                        from.upperLeft()));
-            };
-        }
-
-        Set<Corner> corners() {
-            return cells().stream()
-                    .map(Cell::position)
-                    .map(Corner::getCorners)
-                    .reduce((Set<Corner>) new HashSet<Corner>(), (x, y) -> {
-                        x.addAll(y);
-                        return x;
-                    }, (x, y) -> {
-                        Set<Corner> combined = new HashSet<>(x);
-                        combined.addAll(y);
-                        return combined;
-                    });
-        }
-
-        /**
-         * 
-         * An edge is the boundary between two cells.
-         * Since the order of the cells does not matter
-         * this can be represented as a set containing
-         * the positions of the two cells.
-         * Since we don't want to count duplicate edges,
-         * they are put within another set.
-         * 
-         * @return
-         */
-        Set<Set<Pair<Integer, Integer>>> edges() {
-            Set<Set<Pair<Integer, Integer>>> edges = new HashSet<>();
-
-            var cellCoordinateSet = cells.stream()
-                    .map(cell -> cell.position)
-                    .collect(Collectors.toSet());
-            for (var cell : cells) {
-                for (var direction : Direction.values()) {
-                    // Neighbouring coordinate (does not matter if it is valid cell or empty space)
-                    var neighbour = new Pair<>(cell.position.x() + direction.asPair().x(),
-                            cell.position.y() + direction.asPair().y());
-
-                    // Don't count internal edges
-                    if (!cellCoordinateSet.contains(neighbour)) {
-                        var edge = Set.of(cell.position(), neighbour);
-                        edges.add(edge);
-                    }
-                }
-            }
-
-            return edges;
-        }
-    }
-
-    /**
-     * Assumes that the corner represents the top-left corner
-     * of the cell with the same coordinates
-     */
-    record Corner(
-            Pair<Integer, Integer> coordinates) {
-        /**
-         * A corner is a set of 4 cell-coordinates (the ones touching the corner)
-         * 
-         * @param cellCoords
-         * @return
-         */
-        public static Set<Corner> getCorners(Pair<Integer, Integer> cellCoords) {
-            var diagonal = Pair.sum(Direction.DOWN.asPair(), Direction.RIGHT.asPair());
-
-            Corner upperLeftCorner = new Corner(
-                    cellCoords);
-            Corner upperRightCorner = new Corner(
-                    Pair.sum(cellCoords, Direction.RIGHT.asPair()));
-            Corner lowerLeftCorner = new Corner(
-                    Pair.sum(cellCoords, Direction.DOWN.asPair()));
-            Corner lowerRightCorner = new Corner(
-                    Pair.sum(cellCoords, diagonal));
-
-            return Set.of(upperLeftCorner, upperRightCorner, lowerLeftCorner, lowerRightCorner);
-        }
-
-        public static Corner move(Corner corner, Direction direction) {
-            return new Corner(Pair.sum(corner.coordinates(), direction.asPair()));
-        }
-
-        /**
-         * Returns the coordinates of the cell that is on the upper-left
-         * diagonal, relative to this corner.
-         * Note that the return is in Cell coordinates, not
-         * Corner coordinates. (But in this case they coincide)
-         * 
-         * @return
-         */
-        public Pair<Integer, Integer> upperLeft() {
-            var offset = new Pair<>(-1, -1);
-            return Pair.sum(coordinates, offset);
-        }
-
-        /**
-         * Returns the oordinates of the cell that is on the upper-right
-         * diagonal, relative to this corner.
-         * Note that the return is in Cell coordinates, not
-         * Corner coordinates.
-         * The upper-right Cell coordinates have the same value as
-         * the Corner immediately upwards, since we take the
-         * top-left corner of a cell as a reference.
-         * 
-         * @return
-         */
-        public Pair<Integer, Integer> upperRight() {
-            return Pair.sum(coordinates, Direction.UP.asPair());
-        }
-
-        /**
-         * Returns the coordinates of the cell that is on the lower-left
-         * diagonal, relative to this corner.
-         * Note that the return is in Cell coordinates, not
-         * Corner coordinates.
-         * The lower-left Cell coordinates have the same value as
-         * the Corner immediately left to this, since we take the
-         * top-left corner of a cell as a reference.
-         * 
-         * @return
-         */
-        public Pair<Integer, Integer> lowerLeft() {
-            return Pair.sum(coordinates, Direction.LEFT.asPair());
-        }
-
-        /**
-         * Returns the coordinates of the cell that is on the lower-right
-         * diagonal, relative to this corner.
-         * Note that the return is in Cell coordinates, not
-         * Corner coordinates.
-         * The lower-right Cell coordinates have the same value as
-         * this Corner coordinates, since we take the top-left
-         * corner of a cell as a reference.
-         * 
-         * @return
-         */
-        public Pair<Integer, Integer> lowerRight() {
-            return this.coordinates();
-        }
     }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Matrix2x2;
 import com.adventofcode.util.Pair;
 
@@ -15,9 +16,14 @@ public enum Day13 implements Solver<Integer, BigInteger> {
 
     @Override
     public Integer solvePart1(String input) {
+        var token = CancellationToken.current();
+
         return parseInput(input).stream()
                 .parallel()
-                .map(Machine::findSolution)
+                .map(machine -> {
+                    token.throwIfCancelled();
+                    return machine.findSolution();
+                })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .mapToInt(pair -> 3 * pair.first() + pair.second())
@@ -26,9 +32,14 @@ public enum Day13 implements Solver<Integer, BigInteger> {
 
     @Override
     public BigInteger solvePart2(String input) {
+        var token = CancellationToken.current();
+
         return parseInputWithOffset(input).stream()
                 .parallel()
-                .map(LongMachine::findSolution)
+                .map(machine -> {
+                    token.throwIfCancelled();
+                    return machine.findSolution();
+                })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .map(pair -> pair.first().multiply(BigInteger.valueOf(3)).add(pair.second()))
@@ -121,7 +132,6 @@ public enum Day13 implements Solver<Integer, BigInteger> {
             var coefficients = Matrix2x2.ofColumns(buttonA, buttonB);
             var solution = coefficients.solveLinearSystem(prize);
 
-            System.out.println(solution);
             if (solution.isEmpty() || !isExactSolution(solution.get()))
                 return Optional.empty();
 
@@ -7,10 +7,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.adventofcode.util.CancellationToken;
+import com.adventofcode.util.Digests;
 import com.adventofcode.util.Pair;
 
 public class Day14 implements Solver<Integer, String> {
@@ -49,14 +52,54 @@ public class Day14 implements Solver<Integer, String> {
      * @param iterationStart
      * @param iterationEnd
      * @param visualize
+     * @throws IllegalArgumentException If iterationStart is negative or
+     *                                  greater than iterationEnd
      */
     public Day14(Pair<Integer, Integer> availableSpace, int iterationStart, int iterationEnd, boolean visualize) {
+        // The cached positions are keyed by the iteration they were reached
+        // at, so an impossible range would store the wrong ones
+        if (iterationStart < 0 || iterationEnd < iterationStart)
+            throw new IllegalArgumentException("Invalid range of iterations: [" + iterationStart + ", "
+                    + iterationEnd + "]");
+
         this.availableSpace = availableSpace;
         this.iterationStart = iterationStart;
         this.iterationEnd = iterationEnd;
         this.visualize = visualize;
     }
 
+    /**
+     * Returns a solver for the same available space that searches the given
+     * range of iterations instead. Since the solver holds no state besides its
+     * configuration, this instance is returned unchanged when the range is
+     * the same.
+     *
+     * @param iterationStart
+     * @param iterationEnd
+     * @param visualize
+     * @return A solver configured with the given range
+     */
+    public Day14 withIterations(int iterationStart, int iterationEnd, boolean visualize) {
+        if (iterationStart == this.iterationStart
+                && iterationEnd == this.iterationEnd
+                && visualize == this.visualize)
+            return this;
+
+        return new Day14(availableSpace, iterationStart, iterationEnd, visualize);
+    }
+
+    public int iterationStart() {
+        return iterationStart;
+    }
+
+    public int iterationEnd() {
+        return iterationEnd;
+    }
+
+    public boolean visualize() {
+        return visualize;
+    }
+
     @Override
     public Integer solvePart1(String input) {
         return parseInput(input).stream()
@@ -81,25 +124,70 @@ public class Day14 implements Solver<Integer, String> {
 
     @Override
     public String solvePart2(String input) {
+        return solvePart2(input, Digests.sha256Hex(input));
+    }
+
+    /**
+     * Same as {@link #solvePart2(String)}, for callers that already know the
+     * digest of the input, so that it is not hashed again.
+     *
+     * @param input       Puzzle input
+     * @param inputDigest SHA-256 of the input, as given by
+     *                    {@link Digests#sha256Hex}, identifying its robots in
+     *                    the cache
+     */
+    public String solvePart2(String input, String inputDigest) {
+        if (visualize) {
+            StringBuilder sb = new StringBuilder();
+            simulate(input, inputDigest, sb::append);
+            return sb.toString();
+        }
+
+        return simulate(input, inputDigest, null);
+    }
 
-        var initialRobots = Day14Cache.INSTANCE.get().computeIfAbsent(iterationStart, key -> {
+    /**
+     * Runs the configured range of iterations, handing the frame of each
+     * one to the given sink as soon as it is drawn, instead of returning
+     * them all at once. Only one frame is held in memory at a time.
+     *
+     * @param input       Puzzle input
+     * @param inputDigest SHA-256 of the input, as given by
+     *                    {@link Digests#sha256Hex}
+     * @param frameSink   Receives the frame of every iteration, in order
+     */
+    public void visualize(String input, String inputDigest, Consumer<String> frameSink) {
+        simulate(input, inputDigest, frameSink);
+    }
+
+    /**
+     * Moves the robots through the configured range of iterations. Without
+     * a frame sink, stops at the first iteration that looks like the easter
+     * egg and returns its number (or an empty string if there is none).
+     */
+    private String simulate(String input, String inputDigest, Consumer<String> frameSink) {
+        var token = CancellationToken.current();
+        var cache = Day14Cache.INSTANCE;
+        var startKey = new Day14Cache.Key(inputDigest, iterationStart);
+        // Simulated outside of the cache lock, as it can take a while
+        List<Robot> robots = cache.get(startKey).orElseGet(() -> {
             List<Robot> result = parseInput(input);
             var iterators = result.stream()
                     .map(robot -> new RobotIterator(robot, availableSpace))
                     .toList();
             for (int i = 0; i < iterationStart; ++i) {
+                token.throwIfCancelled();
                 result = iterators.stream().map(it -> it.next()).toList();
             }
+            cache.put(startKey, result);
             return result;
         });
-        var iterators = initialRobots.stream()
+        var iterators = robots.stream()
                 .map(robot -> new RobotIterator(robot, availableSpace))
                 .toList();
 
-        StringBuilder sb = new StringBuilder();
-
-        List<Robot> robots = new ArrayList<>();
         for (int i = iterationStart; i < iterationEnd; ++i) {
+            token.throwIfCancelled();
             robots = iterators.stream()
                     .map(it -> it.next())
                     .toList();
@@ -107,21 +195,19 @@ public class Day14 implements Solver<Integer, String> {
                     .map(robot -> robot.position())
                     .toList();
 
-            if (visualize) {
-                sb.append("Iteration: " + i + 1);
-                sb.append('\n');
-                sb.append(printRobotsNoCount(positions, availableSpace));
-                sb.append('\n');
+            if (frameSink != null) {
+                frameSink.accept("Iteration: " + (i + 1) + '\n'
+                        + printRobotsNoCount(positions, availableSpace) + '\n');
             } else if (findStreak(positions)) {
-                sb.append(i + 1);
-                break;
+                // The robots are not at the end of the range, so they are
+                // not cached
+                return String.valueOf(i + 1);
             }
-            ;
         }
 
-        Day14Cache.INSTANCE.get().put(iterationEnd, robots);
+        cache.put(new Day14Cache.Key(inputDigest, iterationEnd), robots);
 
-        return sb.toString();
+        return "";
     }
 
     boolean findStreak(List<Pair<Integer, Integer>> positions) {
@@ -1,21 +1,67 @@
 package com.adventofcode.solutions;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import com.adventofcode.solutions.Day14.Robot;
 
+/**
+ * Robot positions at the last iteration of each search, keyed by the
+ * SHA-256 of the input they came from, as given by
+ * {@link com.adventofcode.util.Digests#sha256Hex}, and the iteration number. Shared by
+ * every request, so it must be safe for concurrent use.
+ *
+ * Only the most recently used positions are kept, so that clients cannot
+ * grow the heap by searching many inputs or ranges.
+ */
 public enum Day14Cache {
     INSTANCE;
 
-    private final Map<Integer, List<Robot>> cache;
+    // Each entry holds one robot per line of an input
+    static final int MAX_ENTRIES = 64;
+
+    // Access order, so that the first entry is always the least recently used
+    private final LinkedHashMap<Key, List<Robot>> cache;
 
     private Day14Cache() {
-        cache = new HashMap<>();
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Robot>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Positions of the robots of the input after the given iteration, if
+     * they were cached.
+     */
+    public synchronized Optional<List<Robot>> get(Key key) {
+        return Optional.ofNullable(cache.get(key));
+    }
+
+    /**
+     * Stores the positions of the robots after the iteration of the key.
+     * The simulation must have actually reached that iteration.
+     */
+    public synchronized void put(Key key, List<Robot> robots) {
+        cache.put(key, List.copyOf(robots));
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized void clear() {
+        cache.clear();
     }
 
-    public Map<Integer, List<Robot>> get() {
-        return cache;
+    /**
+     * Identifies the state of the robots: the input they were parsed from
+     * and the number of iterations they moved.
+     */
+    public record Key(String inputDigest, int iteration) {
     }
 }
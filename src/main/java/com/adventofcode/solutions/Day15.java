@@ -5,25 +5,35 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
+import com.adventofcode.util.Grid;
+import com.adventofcode.util.PackedPoint;
 
-public enum Day15 implements Solver<Integer, Integer> {
+public enum Day15 implements ParsingSolver<Day15.Instructions, Integer, Integer> {
     INSTANCE;
 
+    static final char WALL = '#';
+    static final char BOX = 'O';
+    static final char ROBOT = '@';
+    static final char EMPTY = '.';
+    static final char WIDE_BOX_LEFT = '[';
+    static final char WIDE_BOX_RIGHT = ']';
+
     @Override
-    public Integer solvePart1(String input) {
+    public Integer solvePart1(Instructions instructions) {
 
-        var parsedInput = parseInput(input);
-        var warehouse = parsedInput.first();
-        var directions = parsedInput.second();
+        var warehouse = instructions.warehouse();
+        var directions = instructions.moves();
+        var token = CancellationToken.current();
 
-        var currentPosition = warehouse.findRobotPosition().get();
+        var currentPosition = warehouse.findRobotPosition().getAsLong();
         for (var direction : directions) {
-            var nextPosition = Pair.sum(currentPosition, direction.asPair());
+            token.throwIfCancelled();
+            var nextPosition = PackedPoint.move(currentPosition, direction);
             if (tryMoving(currentPosition, direction, warehouse))
                 currentPosition = nextPosition;
         }
@@ -32,17 +42,18 @@ public enum Day15 implements Solver<Integer, Integer> {
     }
 
     @Override
-    public Integer solvePart2(String input) {
+    public Integer solvePart2(Instructions instructions) {
 
-        var parsedInput = parseInputWide(input);
-        var warehouse = parsedInput.first();
-        var directions = parsedInput.second();
+        var warehouse = instructions.wideWarehouse();
+        var directions = instructions.moves();
+        var token = CancellationToken.current();
 
-        var currentPosition = warehouse.findRobotPosition().get();
+        var currentPosition = warehouse.findRobotPosition().getAsLong();
 
         for (var direction : directions) {
+            token.throwIfCancelled();
 
-            var nextPosition = Pair.sum(currentPosition, direction.asPair());
+            var nextPosition = PackedPoint.move(currentPosition, direction);
             if (tryMoving(currentPosition, direction, warehouse))
                 currentPosition = nextPosition;
 
@@ -51,67 +62,63 @@ public enum Day15 implements Solver<Integer, Integer> {
         return warehouse.sumOfBoxGPS();
     }
 
-    boolean tryMoving(Pair<Integer, Integer> currentPosition, Direction direction, Warehouse warehouse) {
+    boolean tryMoving(long currentPosition, Direction direction, Warehouse warehouse) {
 
         var currentTile = warehouse.get(currentPosition);
 
-        var nextPosition = Pair.sum(currentPosition, direction.asPair());
+        var nextPosition = PackedPoint.move(currentPosition, direction);
         var nextTile = warehouse.get(nextPosition);
 
-        if (nextTile instanceof Wall)
+        if (nextTile == WALL)
             return false;
 
         return switch (currentTile) {
-            case Wall wall -> false;
-            case EmptyTile empty -> false;
-            case Robot bot -> {
-                if (nextTile instanceof EmptyTile
-                        || ((nextTile instanceof Box
-                                || nextTile instanceof WideBoxLeft
-                                || nextTile instanceof WideBoxRight)
+            case ROBOT -> {
+                if (nextTile == EMPTY
+                        || ((nextTile == BOX
+                                || nextTile == WIDE_BOX_LEFT
+                                || nextTile == WIDE_BOX_RIGHT)
                                 && tryMoving(nextPosition, direction, warehouse))) {
-                    warehouse.set(currentPosition, new EmptyTile());
+                    warehouse.set(currentPosition, EMPTY);
                     warehouse.set(nextPosition, currentTile);
                     yield true;
                 }
                 yield false;
             }
-            case Box box -> {
-                if (nextTile instanceof EmptyTile
-                        || (nextTile instanceof Box && tryMoving(nextPosition, direction, warehouse))) {
-                    warehouse.set(currentPosition, new EmptyTile());
+            case BOX -> {
+                if (nextTile == EMPTY
+                        || (nextTile == BOX && tryMoving(nextPosition, direction, warehouse))) {
+                    warehouse.set(currentPosition, EMPTY);
                     warehouse.set(nextPosition, currentTile);
                     yield true;
                 }
                 yield false;
             }
-            case WideBoxLeft box ->
-                tryMovingWideBox(currentPosition, direction, warehouse, new HashSet<>(), new HashMap<>());
-            case WideBoxRight box ->
+            case WIDE_BOX_LEFT, WIDE_BOX_RIGHT ->
                 tryMovingWideBox(currentPosition, direction, warehouse, new HashSet<>(), new HashMap<>());
             default -> false;
         };
     }
 
-    boolean tryMovingWideBox(Pair<Integer, Integer> currentPosition, Direction direction,
-            Warehouse warehouse, Set<Pair<Integer, Integer>> waiting,
-            Map<Pair<Integer, Integer>, Boolean> resolved) {
+    boolean tryMovingWideBox(long currentPosition, Direction direction,
+            Warehouse warehouse, Set<Long> waiting,
+            Map<Long, Boolean> resolved) {
 
         var currentTile = warehouse.get(currentPosition);
 
-        var nextPosition = Pair.sum(currentPosition, direction.asPair());
+        var nextPosition = PackedPoint.move(currentPosition, direction);
         var nextTile = warehouse.get(nextPosition);
 
-        if (nextTile instanceof Wall)
+        if (nextTile == WALL)
             return false;
 
         return switch (direction) {
             case LEFT, RIGHT -> {
                 // For horizontal movement, the logic is the same as the one for small boxes
-                if (nextTile instanceof EmptyTile
-                        || ((nextTile instanceof WideBoxLeft || nextTile instanceof WideBoxRight)
+                if (nextTile == EMPTY
+                        || ((nextTile == WIDE_BOX_LEFT || nextTile == WIDE_BOX_RIGHT)
                                 && tryMovingWideBox(nextPosition, direction, warehouse, waiting, resolved))) {
-                    warehouse.set(currentPosition, new EmptyTile());
+                    warehouse.set(currentPosition, EMPTY);
                     warehouse.set(nextPosition, currentTile);
                     resolved.put(currentPosition, true);
                     yield true;
@@ -123,8 +130,8 @@ public enum Day15 implements Solver<Integer, Integer> {
                 // For vertical movement it is necessary to check if the other side of the box
                 // can move.
                 var otherSide = switch (currentTile) {
-                    case WideBoxLeft box -> Pair.sum(currentPosition, Direction.RIGHT.asPair());
-                    case WideBoxRight box -> Pair.sum(currentPosition, Direction.LEFT.asPair());
+                    case WIDE_BOX_LEFT -> PackedPoint.move(currentPosition, Direction.RIGHT);
+                    case WIDE_BOX_RIGHT -> PackedPoint.move(currentPosition, Direction.LEFT);
                     default -> throw new IllegalStateException();
                 };
 
@@ -133,11 +140,11 @@ public enum Day15 implements Solver<Integer, Integer> {
                 // If the other side of the box is already awaiting for the result, just apply
                 // the normal recursive check.
                 if (waiting.contains(otherSide)) {
-                    if (nextTile instanceof EmptyTile
-                            || ((nextTile instanceof WideBoxLeft || nextTile instanceof WideBoxRight)
+                    if (nextTile == EMPTY
+                            || ((nextTile == WIDE_BOX_LEFT || nextTile == WIDE_BOX_RIGHT)
                                     && tryMovingWideBox(nextPosition, direction, warehouse, waiting, resolved))) {
 
-                        warehouse.set(currentPosition, new EmptyTile());
+                        warehouse.set(currentPosition, EMPTY);
                         warehouse.set(nextPosition, currentTile);
 
                         resolved.put(currentPosition, true);
@@ -169,61 +176,25 @@ public enum Day15 implements Solver<Integer, Integer> {
                     yield result;
                 }
             }
-            default -> false;
         };
     }
 
-    boolean canTileBeMoved(Pair<Integer, Integer> position, Direction direction, Warehouse warehouse) {
-        Pair<Integer, Integer> currentPosition = position;
+    boolean canTileBeMoved(long position, Direction direction, Warehouse warehouse) {
+        long currentPosition = position;
         while (true) {
-            currentPosition = Pair.sum(currentPosition, direction.asPair());
+            currentPosition = PackedPoint.move(currentPosition, direction);
             var currentTile = warehouse.get(currentPosition);
 
-            if (currentTile instanceof EmptyTile)
+            if (currentTile == EMPTY)
                 return true;
-            if (currentTile instanceof Wall)
+            if (currentTile == WALL)
                 return false;
         }
     }
 
-    Pair<Warehouse, List<Direction>> parseInput(String input) {
-        List<List<Tile>> tiles = new ArrayList<>();
-        List<Direction> directions = new ArrayList<>();
-
-        input.lines()
-                .filter(line -> !line.isBlank())
-                .forEach(line -> {
-                    char firstChar = line.charAt(0);
-
-                    if (firstChar == '#')
-                        tiles.add(parseMapLine(line));
-                    else if (firstChar == '^'
-                            || firstChar == '>'
-                            || firstChar == 'v'
-                            || firstChar == '<')
-                        directions.addAll(parseDirectionLine(line));
-                });
-
-        return new Pair<>(new Warehouse(tiles), directions);
-    }
-
-    List<Tile> parseMapLine(String line) {
-        return line.chars()
-                .sequential()
-                .mapToObj(ch -> (Tile) (switch (ch) {
-                    case '#' -> new Wall();
-                    case 'O' -> new Box();
-                    case '@' -> new Robot();
-                    case '.' -> new EmptyTile();
-                    default -> throw new IllegalStateException();
-                }))
-                .collect(() -> new ArrayList<>(),
-                        (a, b) -> a.add(b),
-                        (a, b) -> a.addAll(b));
-    }
-
-    Pair<Warehouse, List<Direction>> parseInputWide(String input) {
-        List<List<Tile>> tiles = new ArrayList<>();
+    @Override
+    public Instructions parse(String input) {
+        List<String> map = new ArrayList<>();
         List<Direction> directions = new ArrayList<>();
 
         input.lines()
@@ -232,7 +203,7 @@ public enum Day15 implements Solver<Integer, Integer> {
                     char firstChar = line.charAt(0);
 
                     if (firstChar == '#')
-                        tiles.add(parseMapLineWide(line));
+                        map.add(line);
                     else if (firstChar == '^'
                             || firstChar == '>'
                             || firstChar == 'v'
@@ -240,25 +211,16 @@ public enum Day15 implements Solver<Integer, Integer> {
                         directions.addAll(parseDirectionLine(line));
                 });
 
-        return new Pair<>(new Warehouse(tiles), directions);
-    }
-
-    List<Tile> parseMapLineWide(String line) {
-        ArrayList<Tile> result = new ArrayList<>();
-
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-
-            result.addAll(switch (ch) {
-                case '#' -> List.of(new Wall(), new Wall());
-                case 'O' -> List.of(new WideBoxLeft(), new WideBoxRight());
-                case '@' -> List.of(new Robot(), new EmptyTile());
-                case '.' -> List.of(new EmptyTile(), new EmptyTile());
+        var tiles = Grid.fromLines(map);
+        for (int i = 0; i < tiles.size(); ++i) {
+            switch (tiles.getAt(i)) {
+                case WALL, BOX, ROBOT, EMPTY -> {
+                }
                 default -> throw new IllegalStateException();
-            });
+            }
         }
 
-        return result;
+        return new Instructions(tiles, List.copyOf(directions));
     }
 
     List<Direction> parseDirectionLine(String line) {
@@ -274,60 +236,73 @@ public enum Day15 implements Solver<Integer, Integer> {
                 .toList();
     }
 
-    record Warehouse(List<List<Tile>> tiles) {
-        Warehouse copy() {
-            return new Warehouse(this.tiles().stream()
-                    .map(list -> (List<Tile>) list.stream()
-                            .map(Tile::copy)
-                            .collect(() -> new ArrayList<Tile>(),
-                                    (a, b) -> a.add(b),
-                                    (a, b) -> a.addAll(b)))
-                    .collect(() -> new ArrayList<List<Tile>>(),
-                            (a, b) -> a.add(b),
-                            (a, b) -> a.addAll(b)));
+    /**
+     * The parsed input. The warehouse is moved around while solving, so
+     * every part works on its own copy of the map.
+     */
+    record Instructions(Grid map, List<Direction> moves) {
+        Warehouse warehouse() {
+            return new Warehouse(map.copy());
         }
 
-        Tile get(Pair<Integer, Integer> position) {
-            final int x = position.x();
-            final int y = position.y();
+        /**
+         * Warehouse of part 2, where everything except the robot is twice
+         * as wide.
+         */
+        Warehouse wideWarehouse() {
+            var tiles = new Grid(map.width() * 2, map.height(), EMPTY);
+
+            for (int y = 0; y < map.height(); ++y) {
+                for (int x = 0; x < map.width(); ++x) {
+                    char left = map.get(x, y);
+                    char right = left;
+
+                    switch (left) {
+                        case BOX -> {
+                            left = WIDE_BOX_LEFT;
+                            right = WIDE_BOX_RIGHT;
+                        }
+                        case ROBOT -> right = EMPTY;
+                        default -> {
+                        }
+                    }
+
+                    tiles.set(2 * x, y, left);
+                    tiles.set(2 * x + 1, y, right);
+                }
+            }
 
-            return this.tiles().get(y).get(x);
+            return new Warehouse(tiles);
         }
+    }
 
-        void set(Pair<Integer, Integer> position, Tile tile) {
-            final int x = position.x();
-            final int y = position.y();
+    record Warehouse(Grid tiles) {
+        Warehouse copy() {
+            return new Warehouse(tiles.copy());
+        }
 
-            this.tiles().get(y).set(x, tile);
+        char get(long position) {
+            return tiles.get(position);
         }
 
-        Optional<Pair<Integer, Integer>> findRobotPosition() {
-            var rows = this.tiles().size();
-            var columns = this.tiles().get(0).size();
+        void set(long position, char tile) {
+            tiles.set(position, tile);
+        }
 
-            for (int y = 0; y < rows; ++y) {
-                for (int x = 0; x < columns; ++x) {
-                    var candidatePosition = new Pair<>(x, y);
-                    if (get(candidatePosition) instanceof Robot)
-                        return Optional.of(candidatePosition);
-                }
-            }
+        OptionalLong findRobotPosition() {
+            int index = tiles.find(ROBOT);
 
-            return Optional.empty();
+            return index >= 0 ? OptionalLong.of(tiles.point(index)) : OptionalLong.empty();
         }
 
         int sumOfBoxGPS() {
 
             int sum = 0;
 
-            var rows = this.tiles().size();
-            var columns = this.tiles().get(0).size();
-
-            for (int y = 0; y < rows; ++y) {
-                for (int x = 0; x < columns; ++x) {
-                    var candidatePosition = new Pair<>(x, y);
-                    var candidateTile = get(candidatePosition);
-                    if (candidateTile instanceof Box || candidateTile instanceof WideBoxLeft)
+            for (int y = 0; y < tiles.height(); ++y) {
+                for (int x = 0; x < tiles.width(); ++x) {
+                    var candidateTile = tiles.get(x, y);
+                    if (candidateTile == BOX || candidateTile == WIDE_BOX_LEFT)
                         sum += 100 * y + x;
                 }
             }
@@ -336,96 +311,12 @@ public enum Day15 implements Solver<Integer, Integer> {
         }
 
         void set(Warehouse other) {
-            this.tiles.clear();
-            this.tiles.addAll(other.tiles);
+            this.tiles.copyFrom(other.tiles);
         }
 
         @Override
         public final String toString() {
-            StringBuilder sb = new StringBuilder();
-
-            var rows = this.tiles().size();
-            var columns = this.tiles().get(0).size();
-
-            for (int y = 0; y < rows; ++y) {
-                StringBuilder lineBuilder = new StringBuilder();
-
-                for (int x = 0; x < columns; ++x) {
-                    var position = new Pair<>(x, y);
-                    lineBuilder.append(get(position).type());
-                }
-
-                lineBuilder.append('\n');
-                sb.append(lineBuilder);
-            }
-
-            return sb.toString();
-        }
-    }
-
-    public record WideBoxLeft() implements Tile {
-        public String type() {
-            return "[";
-        }
-
-        public Tile copy() {
-            return new WideBoxLeft();
-        }
-    }
-
-    public record WideBoxRight() implements Tile {
-        public String type() {
-            return "]";
-        }
-
-        public Tile copy() {
-            return new WideBoxRight();
-        }
-    }
-
-    public record Box() implements Tile {
-        public String type() {
-            return "O";
-        }
-
-        public Box copy() {
-            return new Box();
-        }
-    }
-
-    public record Robot() implements Tile {
-        public String type() {
-            return "@";
-        }
-
-        public Tile copy() {
-            return new Robot();
-        }
-    }
-
-    public record Wall() implements Tile {
-        public String type() {
-            return "#";
+            return tiles.toString();
         }
-
-        public Tile copy() {
-            return new Wall();
-        }
-    }
-
-    public record EmptyTile() implements Tile {
-        public String type() {
-            return ".";
-        }
-
-        public Tile copy() {
-            return new EmptyTile();
-        }
-    }
-
-    sealed interface Tile permits Box, WideBoxLeft, WideBoxRight, Robot, Wall, EmptyTile {
-        public String type();
-
-        public Tile copy();
     }
 }
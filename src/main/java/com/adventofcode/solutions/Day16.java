@@ -2,7 +2,6 @@ package com.adventofcode.solutions;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -11,57 +10,59 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
-import com.adventofcode.graphs.implementations.SimpleGraph;
-import com.adventofcode.graphs.interfaces.Graph;
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
+import com.adventofcode.util.Grid;
+import com.adventofcode.util.PackedPoint;
 
-public enum Day16 implements Solver<Integer, Integer> {
+public enum Day16 implements ParsingSolver<Day16.Maze, Integer, Integer> {
     INSTANCE;
 
+    static final char WALL = '#';
+
     @Override
-    public Integer solvePart1(String input) {
+    public Integer solvePart1(Maze maze) {
 
-        Maze maze = parseInput(input);
         final int DEFAULT_COST = (maze.width() + maze.height()) * 1000;
 
-        List<Pair<Integer, Integer>> optimalPath = findOptimalPath(
-                maze.graph(), maze.start(), maze.end(), Direction.RIGHT,
+        List<Integer> optimalPath = findOptimalPath(
+                maze, new Search(maze.grid().size()), maze.start(), maze.end(), Direction.RIGHT,
                 DEFAULT_COST);
 
-        return calculateCostFromPath(optimalPath, Direction.RIGHT);
+        return calculateCostFromPath(optimalPath, Direction.RIGHT, maze);
     }
 
     @Override
-    public Integer solvePart2(String input) {
-
-        Maze maze = parseInput(input);
+    public Integer solvePart2(Maze maze) {
 
         return findVerticesInMinimalPaths(maze)
                 .size();
     }
 
-    Collection<Pair<Integer, Integer>> findVerticesInMinimalPaths(Maze maze) {
+    Collection<Integer> findVerticesInMinimalPaths(Maze maze) {
 
-        var graph = maze.graph();
         var start = maze.start();
         var end = maze.end();
+        var search = new Search(maze.grid().size());
 
         final int DEFAULT_COST = (maze.width() + maze.height()) * 1000;
 
-        Map<Pair<Integer, Integer>, List<Pair<Integer, Integer>>> pathsFromStart = new ConcurrentHashMap<>();
-        Map<Pair<Integer, Integer>, List<Pair<Integer, Integer>>> pathsToEnd = new ConcurrentHashMap<>();
+        Map<Integer, List<Integer>> pathsFromStart = new ConcurrentHashMap<>();
+        Map<Integer, List<Integer>> pathsToEnd = new ConcurrentHashMap<>();
 
-        int knownOptimalCost = calculateCostFromPath(findOptimalPath(graph, start,
-                end, Direction.RIGHT, DEFAULT_COST), Direction.RIGHT);
+        int knownOptimalCost = calculateCostFromPath(findOptimalPath(maze, search, start,
+                end, Direction.RIGHT, DEFAULT_COST), Direction.RIGHT, maze);
 
-        Set<Pair<Integer, Integer>> minimalPathsVertices = new HashSet<>();
+        Set<Integer> minimalPathsVertices = new HashSet<>();
+
+        for (int vertex = 0; vertex < maze.grid().size(); ++vertex) {
+            if (!maze.isOpen(vertex))
+                continue;
 
-        for (var vertex : graph.vertices()) {
             boolean isPathPossible = true;
 
             var pathFromStart = pathsFromStart.computeIfAbsent(vertex,
-                    v -> findOptimalPath(graph, start, v, Direction.RIGHT, DEFAULT_COST));
+                    v -> findOptimalPath(maze, search, start, v, Direction.RIGHT, DEFAULT_COST));
             int pathLength = pathFromStart.size();
 
             IntStream.range(0, pathLength)
@@ -77,25 +78,24 @@ public enum Day16 implements Solver<Integer, Integer> {
 
             int costFromStart;
 
-            costFromStart = calculateCostFromPath(pathFromStart, Direction.RIGHT);
+            costFromStart = calculateCostFromPath(pathFromStart, Direction.RIGHT, maze);
 
-            var directionFromStart = vertex.equals(start)
+            var directionFromStart = vertex == start
                     ? Direction.RIGHT
                     : getDirection(pathFromStart.get(pathLength - 2),
-                            pathFromStart.get(pathLength - 1));
+                            pathFromStart.get(pathLength - 1), maze);
 
             int costToEnd;
 
             var pathToEnd = pathsToEnd.computeIfAbsent(vertex,
-                    v -> findOptimalPath(graph, v, end, directionFromStart, DEFAULT_COST));
-            costToEnd = calculateCostFromPath(pathToEnd, directionFromStart);
+                    v -> findOptimalPath(maze, search, v, end, directionFromStart, DEFAULT_COST));
+            costToEnd = calculateCostFromPath(pathToEnd, directionFromStart, maze);
 
             isPathPossible &= !pathToEnd.isEmpty();
 
             IntStream.range(0, pathToEnd.size())
                     .parallel()
                     .forEach(i -> {
-                        // for (int i = 0; i < pathToEnd.size(); ++i) {
                         final int viewStart = i;
                         var intermediateVertex = pathToEnd.get(i);
                         pathsToEnd.computeIfAbsent(intermediateVertex, v -> pathToEnd.subList(viewStart,
@@ -104,40 +104,29 @@ public enum Day16 implements Solver<Integer, Integer> {
 
             int totalCost = costFromStart + costToEnd;
             if (isPathPossible && totalCost == knownOptimalCost) {
-
-                // List<Pair<Integer, Integer>> sameCost = totalCosts.getOrDefault(totalCost,
-                // new ArrayList<>());
-                // sameCost.add(vertex);
-
-                // totalCosts.put(totalCost, sameCost);
                 minimalPathsVertices.add(vertex);
             }
         }
 
-        // int minCost = totalCosts.keySet().stream()
-        // .mapToInt(Integer::valueOf)
-        // .min()
-        // .getAsInt();
-
         return minimalPathsVertices;
     }
 
-    private int calculateCostFromPath(List<Pair<Integer, Integer>> path,
-            Direction initialDirection) {
+    private int calculateCostFromPath(List<Integer> path,
+            Direction initialDirection, Maze maze) {
 
         int steps = 0;
         int turns = 0;
 
         Direction lastDirection = initialDirection;
-        Pair<Integer, Integer> lastPosition = null;
+        int lastPosition = -1;
 
-        for (var position : path) {
-            if (lastPosition == null) {
+        for (int position : path) {
+            if (lastPosition < 0) {
                 lastPosition = position;
                 continue;
             }
 
-            Direction direction = getDirection(lastPosition, position);
+            Direction direction = getDirection(lastPosition, position, maze);
 
             if (direction != lastDirection)
                 turns++;
@@ -151,58 +140,64 @@ public enum Day16 implements Solver<Integer, Integer> {
         return steps + turns * 1000;
     }
 
-    private Direction getDirection(Pair<Integer, Integer> from, Pair<Integer, Integer> to) {
-        Direction direction = Direction.fromPair(new Pair<>(
-                to.x() - from.x(),
-                to.y() - from.y()));
-        return direction;
+    private Direction getDirection(int from, int to, Maze maze) {
+        int difference = to - from;
+
+        if (difference == 1)
+            return Direction.RIGHT;
+        if (difference == -1)
+            return Direction.LEFT;
+        if (difference == maze.width())
+            return Direction.DOWN;
+        if (difference == -maze.width())
+            return Direction.UP;
+
+        throw new IllegalArgumentException("Invalid conversion");
     }
 
     /**
      * A* algorithm for finding the optimal path. Adapted from Wikipedia
      * pseudocode.
      * 
-     * I realized I don't need to setup the edges manually
-     * since I can check if they're valid based on the coordinates,
-     * so I could have used just a Set of points instead of a graph.
-     * But anyway, I wanted to test my graph implementations and if
-     * it works, I'm not complaining.
-     * 
-     * @param maze
-     * @return
+     * The open cells of the maze are the vertices, and every one is linked
+     * to its open neighbours, so the graph is never built: positions are
+     * indexes in the grid, and the scores are kept in the arrays of the
+     * search, one slot per cell.
      */
-    List<Pair<Integer, Integer>> findOptimalPath(Graph<Pair<Integer, Integer>> graph,
-            Pair<Integer, Integer> start,
-            Pair<Integer, Integer> end,
+    List<Integer> findOptimalPath(Maze maze,
+            Search search,
+            int start,
+            int end,
             Direction initialDirection,
             int defaultCost) {
 
+        var token = CancellationToken.current();
         var currentDirection = initialDirection;
+        boolean hasCameFrom = false;
 
-        Map<Pair<Integer, Integer>, Pair<Integer, Integer>> cameFrom = new HashMap<>();
-
-        Map<Pair<Integer, Integer>, Integer> gScore = new HashMap<>();
-        gScore.put(start, 0);
+        search.reset();
+        search.setGScore(start, 0);
+        search.setFScore(start, costHeuristic(start, end, maze));
 
-        Map<Pair<Integer, Integer>, Integer> fScore = new HashMap<>();
-        fScore.put(start, costHeuristic(start, end));
-
-        PriorityQueue<Pair<Integer, Integer>> openSet = new PriorityQueue<>(
-                (a, b) -> Integer.compare(fScore.getOrDefault(a, defaultCost),
-                        fScore.getOrDefault(b, defaultCost)));
+        PriorityQueue<Integer> openSet = new PriorityQueue<>(
+                (a, b) -> Integer.compare(search.fScore(a, defaultCost),
+                        search.fScore(b, defaultCost)));
         openSet.add(start);
+        search.setOpen(start, true);
 
         while (!openSet.isEmpty()) {
-            var current = openSet.peek();
+            token.throwIfCancelled();
+            int current = openSet.peek();
 
-            if (current.equals(end)) {
-                return reconstructPath(cameFrom, current);
+            if (current == end) {
+                return reconstructPath(search, current);
             }
 
-            if (!cameFrom.isEmpty())
-                currentDirection = getDirection(cameFrom.get(current), current);
+            if (hasCameFrom)
+                currentDirection = getDirection(search.cameFrom(current), current, maze);
 
-            openSet.remove(current);
+            openSet.poll();
+            search.setOpen(current, false);
 
             Direction[] possibleContinuations = { currentDirection,
                     currentDirection.rotateClockwise(),
@@ -210,23 +205,26 @@ public enum Day16 implements Solver<Integer, Integer> {
 
             for (Direction direction : possibleContinuations) {
 
-                Pair<Integer, Integer> neighbor = Pair.sum(current, direction.asPair());
+                int neighbor = maze.grid().neighbour(current, direction);
 
-                if (!graph.containsVertex(neighbor))
+                if (neighbor < 0 || !maze.isOpen(neighbor))
                     continue;
 
                 int costToNeighbor = currentDirection == direction ? 1 : 1000;
 
-                int tentativeGScore = gScore.getOrDefault(current, defaultCost) + costToNeighbor;
+                int tentativeGScore = search.gScore(current, defaultCost) + costToNeighbor;
 
-                if (tentativeGScore < gScore.getOrDefault(neighbor, defaultCost)) {
-                    cameFrom.put(neighbor, current);
-                    gScore.put(neighbor, tentativeGScore);
-                    fScore.put(neighbor, tentativeGScore + costHeuristic(neighbor,
-                            end));
+                if (tentativeGScore < search.gScore(neighbor, defaultCost)) {
+                    search.setCameFrom(neighbor, current);
+                    hasCameFrom = true;
+                    search.setGScore(neighbor, tentativeGScore);
+                    search.setFScore(neighbor, tentativeGScore + costHeuristic(neighbor,
+                            end, maze));
 
-                    if (!openSet.contains(neighbor))
+                    if (!search.isOpen(neighbor)) {
                         openSet.add(neighbor);
+                        search.setOpen(neighbor, true);
+                    }
 
                 }
             }
@@ -236,138 +234,141 @@ public enum Day16 implements Solver<Integer, Integer> {
         return List.of();
     }
 
-    List<Pair<Integer, Integer>> reconstructPath(Map<Pair<Integer, Integer>, Pair<Integer, Integer>> cameFrom,
-            Pair<Integer, Integer> current) {
+    List<Integer> reconstructPath(Search search, int current) {
 
-        List<Pair<Integer, Integer>> totalPath = new ArrayList<>();
+        List<Integer> totalPath = new ArrayList<>();
 
         totalPath.add(current);
 
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
+        while (search.cameFrom(current) >= 0) {
+            current = search.cameFrom(current);
             totalPath.add(current);
         }
 
         return totalPath.reversed();
     }
 
-    int costHeuristic(Pair<Integer, Integer> position, Pair<Integer, Integer> goal) {
-        return Math.abs(position.x() - goal.x())
-                + Math.abs(position.y() - goal.y());
+    int costHeuristic(int position, int goal, Maze maze) {
+        return PackedPoint.manhattanDistance(maze.grid().point(position), maze.grid().point(goal));
     }
 
-    public Maze parseInput(String input) {
-        Graph<Pair<Integer, Integer>> graph = new SimpleGraph<>();
-        Pair<Integer, Integer> start = null;
-        Pair<Integer, Integer> end = null;
-
-        var chars = input
-                .lines()
-                .map(line -> line.chars()
-                        .mapToObj(x -> (char) x)
-                        .toList())
-                .toList();
+    @Override
+    public Maze parse(String input) {
+        var grid = Grid.parse(input);
 
-        int y = 0;
-        for (var line : chars) {
-            for (int x = 0; x < line.size(); ++x) {
-                char currentChar = chars.get(y).get(x);
+        return new Maze(grid, grid.find('S'), grid.find('E'));
+    }
 
-                if (currentChar == '#')
-                    continue;
+    String printPath(List<Integer> path, Maze maze) {
+        var grid = maze.grid().copy();
 
-                var position = new Pair<>(x, y);
+        for (int position : path) {
+            if (position != maze.start() && position != maze.end())
+                grid.setAt(position, 'O');
+        }
 
-                if (currentChar == 'S')
-                    start = position;
-                else if (currentChar == 'E')
-                    end = position;
+        return grid.toString();
+    }
 
-                graph.addVertex(position);
+    /**
+     * Positions are indexes in the grid.
+     */
+    record Maze(Grid grid, int start, int end) {
 
-                for (var direction : Direction.values()) {
+        int width() {
+            return grid.width();
+        }
 
-                    var neighbor = Pair.sum(position, direction.asPair());
+        int height() {
+            return grid.height();
+        }
 
-                    if (0 <= neighbor.x() && neighbor.x() < line.size() &&
-                            0 <= neighbor.y() && neighbor.y() < chars.size() &&
-                            chars.get(neighbor.y()).get(neighbor.x()) != '#') {
-                        graph.addEdge(position, neighbor);
-                    }
-                }
-            }
-            ++y;
+        boolean isOpen(int position) {
+            return grid.getAt(position) != WALL;
         }
 
-        return new Maze(graph, start, end, chars.get(0).size(), chars.size());
+        @Override
+        public String toString() {
+            return String.format("[start=%s, end=%s, width=%s, height=%s]\n",
+                    PackedPoint.toString(grid.point(start)), PackedPoint.toString(grid.point(end)),
+                    width(), height()) + grid;
+        }
     }
 
-    String printPath(List<Pair<Integer, Integer>> path, Maze maze) {
-
-        StringBuilder sb = new StringBuilder();
-
-        for (int y = 0; y < maze.height(); ++y) {
-            StringBuilder line = new StringBuilder();
+    /**
+     * Scores of a search, one slot per cell of the maze, reused by every
+     * search of a solve. A slot only holds a value if it was written since
+     * the last reset, so resetting does not need to clear the arrays.
+     */
+    static final class Search {
+        private final int[] cameFrom;
+        private final int[] gScore;
+        private final int[] fScore;
+        private final boolean[] open;
+        // Last search that wrote each slot
+        private final int[] writtenIn;
+        private int current;
+
+        Search(int size) {
+            cameFrom = new int[size];
+            gScore = new int[size];
+            fScore = new int[size];
+            open = new boolean[size];
+            writtenIn = new int[size];
+        }
 
-            for (int x = 0; x < maze.width(); x++) {
-                var position = new Pair<>(x, y);
+        void reset() {
+            ++current;
+        }
 
-                if (position.equals(maze.start())) {
-                    line.append('S');
-                } else if (position.equals(maze.end())) {
-                    line.append('E');
-                } else if (path.contains(position)) {
-                    line.append('O');
-                } else if (maze.graph().containsVertex(position)) {
-                    line.append('.');
-                } else {
-                    line.append('#');
-                }
+        private void touch(int position) {
+            if (writtenIn[position] != current) {
+                writtenIn[position] = current;
+                cameFrom[position] = -1;
+                gScore[position] = Integer.MAX_VALUE;
+                fScore[position] = Integer.MAX_VALUE;
+                open[position] = false;
             }
-
-            line.append('\n');
-            sb.append(line);
         }
 
-        return sb.toString();
-
-    }
-
-    record Maze(Graph<Pair<Integer, Integer>> graph, Pair<Integer, Integer> start,
-            Pair<Integer, Integer> end, int width, int height) {
+        private boolean isWritten(int position) {
+            return writtenIn[position] == current;
+        }
 
-        @Override
-        public String toString() {
-            return String.format("[start=%s, end=%s, width=%s, height=%s]\n",
-                    start, end, width, height) + reconstructInput();
+        int cameFrom(int position) {
+            return isWritten(position) ? cameFrom[position] : -1;
         }
 
-        private String reconstructInput() {
-            StringBuilder sb = new StringBuilder();
+        void setCameFrom(int position, int previous) {
+            touch(position);
+            cameFrom[position] = previous;
+        }
 
-            for (int y = 0; y < height; ++y) {
-                StringBuilder line = new StringBuilder();
+        int gScore(int position, int defaultCost) {
+            return isWritten(position) && gScore[position] != Integer.MAX_VALUE ? gScore[position] : defaultCost;
+        }
 
-                for (int x = 0; x < width; x++) {
-                    var position = new Pair<>(x, y);
+        void setGScore(int position, int score) {
+            touch(position);
+            gScore[position] = score;
+        }
 
-                    if (position.equals(start())) {
-                        line.append('S');
-                    } else if (position.equals(end())) {
-                        line.append('E');
-                    } else if (graph.containsVertex(position)) {
-                        line.append('.');
-                    } else {
-                        line.append('#');
-                    }
-                }
+        int fScore(int position, int defaultCost) {
+            return isWritten(position) && fScore[position] != Integer.MAX_VALUE ? fScore[position] : defaultCost;
+        }
 
-                line.append('\n');
-                sb.append(line);
-            }
+        void setFScore(int position, int score) {
+            touch(position);
+            fScore[position] = score;
+        }
 
-            return sb.toString();
+        boolean isOpen(int position) {
+            return isWritten(position) && open[position];
         }
 
+        void setOpen(int position, boolean value) {
+            touch(position);
+            open[position] = value;
+        }
     }
 }
@@ -1,18 +1,15 @@
 package com.adventofcode.solutions;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.Arrays;
 
+import com.adventofcode.util.BitGrid;
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
+import com.adventofcode.util.PackedPoint;
 
 public class Day18 implements Solver<Integer, String> {
+    // values() copies the array on every call
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     final int horizontalRange;
     final int verticalRange;
@@ -32,191 +29,109 @@ public class Day18 implements Solver<Integer, String> {
 
     @Override
     public Integer solvePart1(String input) {
-        Set<Pair<Integer, Integer>> allPoints = new HashSet<>();
-        for (int y = 0; y <= verticalRange; ++y) {
-            for (int x = 0; x <= horizontalRange; x++) {
-                allPoints.add(new Pair<>(x, y));
-            }
-        }
+        long[] bytes = parseInput(input);
+        var memory = new Memory();
 
-        parseInput(input).stream()
-                .sequential()
-                .limit(numberOfBytesPart1)
-                .forEach(point -> allPoints.remove(point));
-
-        var path = findOptimalPath(allPoints,
-                new Pair<>(0, 0),
-                new Pair<>(horizontalRange, verticalRange),
-                Direction.RIGHT, 1000);
+        for (int i = 0; i < Math.min(numberOfBytesPart1, bytes.length); ++i) {
+            memory.corrupt(bytes[i]);
+        }
 
-        return path.size() - 1;
+        return memory.shortestPathLength();
     }
 
     @Override
     public String solvePart2(String input) {
+        long[] bytes = parseInput(input);
+        var memory = new Memory();
 
-        Set<Pair<Integer, Integer>> allPoints = new HashSet<>();
-        for (int y = 0; y <= verticalRange; ++y) {
-            for (int x = 0; x <= horizontalRange; x++) {
-                allPoints.add(new Pair<>(x, y));
-            }
-        }
-
-        var corruptedMemoryIterator = parseInput(input).iterator();
         int byteCount = 0;
-        for (; byteCount < numberOfBytesPart1; ++byteCount) {
+        for (; byteCount < Math.min(numberOfBytesPart1, bytes.length); ++byteCount) {
             // We know that a path is possible after these bytes
             // since it was already solved in part 1
-            allPoints.remove(corruptedMemoryIterator.next());
+            memory.corrupt(bytes[byteCount]);
         }
 
-        Pair<Integer, Integer> currentCorruptedByte = null;
-        var path = findOptimalPath(allPoints,
-                new Pair<>(0, 0),
-                new Pair<>(horizontalRange, verticalRange),
-                Direction.RIGHT, 1000);
-        do {
-            currentCorruptedByte = corruptedMemoryIterator.next();
-            allPoints.remove(currentCorruptedByte);
-            path = findOptimalPath(allPoints,
-                    new Pair<>(0, 0),
-                    new Pair<>(horizontalRange, verticalRange),
-                    Direction.RIGHT, 1000);
+        for (; byteCount < bytes.length; ++byteCount) {
+            memory.corrupt(bytes[byteCount]);
 
-        } while (path.size() > 0);
-
-        return currentCorruptedByte.map((x, y) -> x.toString() + "," + y.toString());
+            if (memory.shortestPathLength() < 0)
+                return PackedPoint.x(bytes[byteCount]) + "," + PackedPoint.y(bytes[byteCount]);
+        }
 
+        throw new IllegalArgumentException("The exit is never blocked");
     }
 
-    String printPath(Collection<Pair<Integer, Integer>> path, Collection<Pair<Integer, Integer>> points) {
-        StringBuilder sb = new StringBuilder();
-
-        for (int y = 0; y <= verticalRange; ++y) {
-            StringBuilder line = new StringBuilder();
-
-            for (int x = 0; x <= horizontalRange; x++) {
-                var coordinate = new Pair<>(x, y);
-
-                if (path.contains(coordinate)) {
-                    line.append('O');
-                } else if (points.contains(coordinate)) {
-                    line.append('.');
-                } else {
-                    line.append('#');
-                }
-            }
-
-            line.append('\n');
-            sb.append(line);
-        }
-
-        return sb.toString();
+    long[] parseInput(String input) {
+        return input.lines()
+                .mapToLong(line -> {
+                    var split = line.split(",");
+                    return PackedPoint.of(Integer.parseInt(split[0]), Integer.parseInt(split[1]));
+                })
+                .toArray();
     }
 
     /**
-     * A* algorithm for finding the optimal path. Same as used on Day 16
-     * this time using only a Set of points.
-     * 
+     * Memory space with the bytes fallen so far, along with the buffers
+     * used to search it, so that searching again after every byte does not
+     * allocate.
      */
-    List<Pair<Integer, Integer>> findOptimalPath(Set<Pair<Integer, Integer>> points,
-            Pair<Integer, Integer> start,
-            Pair<Integer, Integer> end,
-            Direction initialDirection,
-            int defaultCost) {
-
-        var currentDirection = initialDirection;
-
-        Map<Pair<Integer, Integer>, Pair<Integer, Integer>> cameFrom = new HashMap<>();
-
-        Map<Pair<Integer, Integer>, Integer> gScore = new HashMap<>();
-        gScore.put(start, 0);
-
-        Map<Pair<Integer, Integer>, Integer> fScore = new HashMap<>();
-        fScore.put(start, costHeuristic(start, end));
-
-        PriorityQueue<Pair<Integer, Integer>> openSet = new PriorityQueue<>(
-                (a, b) -> Integer.compare(fScore.getOrDefault(a, defaultCost),
-                        fScore.getOrDefault(b, defaultCost)));
-        openSet.add(start);
-
-        while (!openSet.isEmpty()) {
-            var current = openSet.peek();
-
-            if (current.equals(end)) {
-                return reconstructPath(cameFrom, current);
-            }
-
-            if (!cameFrom.isEmpty())
-                currentDirection = getDirection(cameFrom.get(current), current);
-
-            openSet.remove(current);
-
-            Direction[] possibleContinuations = { currentDirection,
-                    currentDirection.rotateClockwise(),
-                    currentDirection.rotateCounterClockwise() };
-
-            for (Direction direction : possibleContinuations) {
-
-                Pair<Integer, Integer> neighbor = Pair.sum(current, direction.asPair());
-
-                if (!points.contains(neighbor))
-                    continue;
-
-                int costToNeighbor = 1;
-
-                int tentativeGScore = gScore.getOrDefault(current, defaultCost) + costToNeighbor;
-
-                if (tentativeGScore < gScore.getOrDefault(neighbor, defaultCost)) {
-                    cameFrom.put(neighbor, current);
-                    gScore.put(neighbor, tentativeGScore);
-                    fScore.put(neighbor, tentativeGScore + costHeuristic(neighbor,
-                            end));
-
-                    if (!openSet.contains(neighbor))
-                        openSet.add(neighbor);
+    private class Memory {
+        final int columns = horizontalRange + 1;
+        final int rows = verticalRange + 1;
+        final BitGrid corrupted = new BitGrid(columns, rows);
+        final int[] distances = new int[columns * rows];
+        final int[] queue = new int[columns * rows];
+
+        void corrupt(long point) {
+            if (PackedPoint.isInBounds(point, columns, rows))
+                corrupted.add(PackedPoint.index(point, columns));
+        }
 
+        /**
+         * Breadth-first search from the top left to the bottom right
+         * corner. Every step costs the same, so the first time the exit is
+         * reached is through a shortest path.
+         *
+         * @return Number of steps of the shortest path, or -1 if the exit
+         *         cannot be reached
+         */
+        int shortestPathLength() {
+            var token = CancellationToken.current();
+            int start = 0;
+            int end = PackedPoint.index(PackedPoint.of(horizontalRange, verticalRange), columns);
+
+            if (corrupted.contains(start))
+                return -1;
+
+            Arrays.fill(distances, -1);
+            distances[start] = 0;
+            queue[0] = start;
+            int head = 0;
+            int tail = 1;
+
+            while (head < tail) {
+                token.throwIfCancelled();
+                int current = queue[head++];
+
+                if (current == end)
+                    return distances[current];
+
+                long point = PackedPoint.fromIndex(current, columns);
+                for (Direction direction : DIRECTIONS) {
+                    long neighbor = PackedPoint.move(point, direction);
+                    if (!PackedPoint.isInBounds(neighbor, columns, rows))
+                        continue;
+
+                    int next = PackedPoint.index(neighbor, columns);
+                    if (corrupted.contains(next) || distances[next] >= 0)
+                        continue;
+
+                    distances[next] = distances[current] + 1;
+                    queue[tail++] = next;
                 }
             }
 
+            return -1;
         }
-
-        return List.of();
-    }
-
-    private Direction getDirection(Pair<Integer, Integer> from, Pair<Integer, Integer> to) {
-        Direction direction = Direction.fromPair(new Pair<>(
-                to.x() - from.x(),
-                to.y() - from.y()));
-        return direction;
-    }
-
-    List<Pair<Integer, Integer>> reconstructPath(Map<Pair<Integer, Integer>, Pair<Integer, Integer>> cameFrom,
-            Pair<Integer, Integer> current) {
-
-        List<Pair<Integer, Integer>> totalPath = new ArrayList<>();
-
-        totalPath.add(current);
-
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
-            totalPath.add(current);
-        }
-
-        return totalPath.reversed();
-    }
-
-    int costHeuristic(Pair<Integer, Integer> position, Pair<Integer, Integer> goal) {
-        return Math.abs(position.x() - goal.x())
-                + Math.abs(position.y() - goal.y());
-    }
-
-    List<Pair<Integer, Integer>> parseInput(String input) {
-        return input.lines()
-                .map(line -> {
-                    var split = line.split(",");
-                    return new Pair<>(Integer.parseInt(split[0]), Integer.parseInt(split[1]));
-                })
-                .toList();
     }
 }
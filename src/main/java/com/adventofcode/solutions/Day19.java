@@ -10,6 +10,7 @@ import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.stream.IntStream;
 
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Pair;
 import com.adventofcode.util.counters.BigCounter;
 import com.adventofcode.util.counters.Counter;
@@ -24,10 +25,14 @@ public enum Day19 implements Solver<Integer, BigInteger> {
 
         var availableTowels = parsedInput.first();
         var desiredSequences = parsedInput.second();
+        var token = CancellationToken.current();
 
         return (int) desiredSequences.stream()
                 .parallel()
-                .filter(sequence -> findTowelSequence(sequence, new HashSet<String>(availableTowels)))
+                .filter(sequence -> {
+                    token.throwIfCancelled();
+                    return findTowelSequence(sequence, new HashSet<String>(availableTowels));
+                })
                 .count();
     }
 
@@ -39,10 +44,14 @@ public enum Day19 implements Solver<Integer, BigInteger> {
         var desiredSequences = parsedInput.second();
 
         BinaryOperator<BigInteger> bigIntegerSum = (a, b) -> a.add(b);
+        var token = CancellationToken.current();
 
         return desiredSequences.stream()
                 .parallel()
-                .map(sequence -> countPossibleSequences(sequence, availableTowels))
+                .map(sequence -> {
+                    token.throwIfCancelled();
+                    return countPossibleSequences(sequence, availableTowels);
+                })
                 .reduce(BigInteger.valueOf(0), bigIntegerSum, bigIntegerSum);
     }
 
@@ -9,6 +9,10 @@ import java.util.stream.Collectors;
 public enum Day3 implements Solver<Integer, Integer> {
     INSTANCE;
 
+    private static final Pattern MUL = Pattern.compile("(mul\\((\\d+),(\\d+)\\))");
+    private static final Pattern DO = Pattern.compile("do()");
+    private static final Pattern DONT = Pattern.compile("don\'t()");
+
     @Override
     public Integer solvePart1(String input) {
         return parseInput(input).stream()
@@ -44,25 +48,25 @@ public enum Day3 implements Solver<Integer, Integer> {
                 .collect(Collectors.joining());
         List<Instruction> result = new ArrayList<>();
 
-        Pattern mul = Pattern.compile("^(mul\\((\\d+),(\\d+)\\)).*?");
-        Pattern _do = Pattern.compile("^do().*?");
-        Pattern dont = Pattern.compile("^don\'t().*?");
+        // Matching in place, from the current index, instead of on a copy
+        // of the rest of the input, keeps this linear in the input length
+        Matcher mulMatcher = MUL.matcher(sanitizedInput);
+        Matcher doMatcher = DO.matcher(sanitizedInput);
+        Matcher dontMatcher = DONT.matcher(sanitizedInput);
 
         int currentIndex = 0;
         while (currentIndex < sanitizedInput.length()) {
-            var currentSubstring = sanitizedInput.substring(currentIndex);
-
-            Matcher mulMatcher = mul.matcher(currentSubstring);
-            Matcher doMatcher = _do.matcher(currentSubstring);
-            Matcher dontMatcher = dont.matcher(currentSubstring);
+            mulMatcher.region(currentIndex, sanitizedInput.length());
+            doMatcher.region(currentIndex, sanitizedInput.length());
+            dontMatcher.region(currentIndex, sanitizedInput.length());
 
-            if (dontMatcher.matches()) {
+            if (dontMatcher.lookingAt()) {
                 result.add(new Dont());
                 currentIndex += 6;
-            } else if (doMatcher.matches()) {
+            } else if (doMatcher.lookingAt()) {
                 result.add(new Do());
                 currentIndex += 4;
-            } else if (mulMatcher.matches()) {
+            } else if (mulMatcher.lookingAt()) {
                 int first = Integer.parseInt(mulMatcher.group(2));
                 int second = Integer.parseInt(mulMatcher.group(3));
 
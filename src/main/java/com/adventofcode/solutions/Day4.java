@@ -2,20 +2,24 @@ package com.adventofcode.solutions;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.adventofcode.util.CancellationToken;
 
 public enum Day4 implements Solver<Integer, Integer> {
     INSTANCE;
 
-    ExecutorService executor = Executors.newWorkStealingPool();
-
     @Override
     public Integer solvePart1(String input) {
+        var token = CancellationToken.current();
+
         return splitLines(input).parallelStream()
-                .mapToInt(this::countXmasOcurrences)
+                .mapToInt(line -> {
+                    token.throwIfCancelled();
+                    return countXmasOcurrences(line);
+                })
                 .sum();
 
     }
@@ -25,12 +29,16 @@ public enum Day4 implements Solver<Integer, Integer> {
         var lines = input.lines().toList();
         int numOfRows = lines.size();
         int numOfColumns = lines.get(0).length();
+        var token = CancellationToken.current();
 
         return IntStream.range(1, numOfRows - 1)
                 .parallel()
-                .map(y -> IntStream.range(1, numOfColumns - 1)
-                        .map(x -> detectX_mas(lines, x, y) ? 1 : 0)
-                        .sum())
+                .map(y -> {
+                    token.throwIfCancelled();
+                    return IntStream.range(1, numOfColumns - 1)
+                            .map(x -> detectX_mas(lines, x, y) ? 1 : 0)
+                            .sum();
+                })
                 .sum();
     }
 
@@ -63,27 +71,16 @@ public enum Day4 implements Solver<Integer, Integer> {
     }
 
     List<String> splitLines(String input) {
-        List<String> result = new ArrayList<>();
-
-        var futures = List.of(
-                CompletableFuture.runAsync(() -> {
-                    result.addAll(splitHorizontalLines(input));
-                }, executor),
-                CompletableFuture.runAsync(() -> {
-                    result.addAll(splitVerticalLines(input));
-                }, executor),
-                CompletableFuture.runAsync(() -> {
-                    result.addAll(splitDiagonals(input));
-                }, executor),
-                CompletableFuture.runAsync(() -> {
-                    result.addAll(splitAntiDiagonals(input));
-                }, executor));
-
-        for (var future : futures) {
-            future.join();
-        }
-
-        return result;
+        // Each direction is split independently, in the pool of the
+        // current solve, and concatenated in order by the stream.
+        return Stream.<Function<String, List<String>>>of(
+                this::splitHorizontalLines,
+                this::splitVerticalLines,
+                this::splitDiagonals,
+                this::splitAntiDiagonals)
+                .parallel()
+                .flatMap(split -> split.apply(input).stream())
+                .toList();
     }
 
     private List<String> splitHorizontalLines(String input) {
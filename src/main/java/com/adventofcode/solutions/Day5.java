@@ -2,8 +2,11 @@ package com.adventofcode.solutions;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 import com.adventofcode.util.Pair;
 
@@ -13,7 +16,7 @@ public enum Day5 implements Solver<Integer, Integer> {
     @Override
     public Integer solvePart1(String inputString) {
         Input input = parseInput(inputString);
-        var rules = input.rules;
+        var rules = predecessors(input.rules);
         var updates = input.updates;
 
         int middlePageSum = 0;
@@ -29,7 +32,7 @@ public enum Day5 implements Solver<Integer, Integer> {
     @Override
     public Integer solvePart2(String inputString) {
         Input input = parseInput(inputString);
-        var rules = input.rules;
+        var rules = predecessors(input.rules);
         var updates = input.updates;
         CompareUpdates comparator = new CompareUpdates(rules);
 
@@ -46,13 +49,9 @@ public enum Day5 implements Solver<Integer, Integer> {
         return middlePageSum;
     }
 
-    private boolean validateUpdate(List<Pair<Integer, Integer>> rules, List<Integer> update) {
+    private boolean validateUpdate(Map<Integer, Set<Integer>> predecessors, List<Integer> update) {
         for (int i = 0; i < update.size(); ++i) {
-            var value = update.get(i);
-            var shouldComeBefore = rules.stream()
-                    .filter(pair -> pair.second() == value)
-                    .map(Pair::first)
-                    .collect(Collectors.toSet());
+            var shouldComeBefore = predecessors.getOrDefault(update.get(i), Set.of());
 
             var after = update.subList(i, update.size());
             for (int n : after) {
@@ -63,6 +62,18 @@ public enum Day5 implements Solver<Integer, Integer> {
         return true;
     }
 
+    /**
+     * Indexes the rules by their second page, so that the pages that must
+     * come before a page are found without going through every rule.
+     */
+    private static Map<Integer, Set<Integer>> predecessors(List<Pair<Integer, Integer>> rules) {
+        Map<Integer, Set<Integer>> predecessors = new HashMap<>();
+        for (var rule : rules) {
+            predecessors.computeIfAbsent(rule.second(), page -> new HashSet<>()).add(rule.first());
+        }
+        return predecessors;
+    }
+
     Input parseInput(String inputString) {
         List<Pair<Integer, Integer>> rules = new ArrayList<>();
         List<List<Integer>> updates = new ArrayList<>();
@@ -96,20 +107,18 @@ public enum Day5 implements Solver<Integer, Integer> {
     }
 
     private class CompareUpdates implements Comparator<Integer> {
-        List<Pair<Integer, Integer>> rules;
+        Map<Integer, Set<Integer>> predecessors;
 
-        public CompareUpdates(List<Pair<Integer, Integer>> rules) {
-            this.rules = rules;
+        public CompareUpdates(Map<Integer, Set<Integer>> predecessors) {
+            this.predecessors = predecessors;
         }
 
         @Override
         public int compare(Integer arg0, Integer arg1) {
-            for (final var pair : rules) {
-                if (pair.first() == arg0 && pair.second() == arg1) {
-                    return -1;
-                } else if (pair.first() == arg1 && pair.second() == arg0) {
-                    return 1;
-                }
+            if (predecessors.getOrDefault(arg1, Set.of()).contains(arg0)) {
+                return -1;
+            } else if (predecessors.getOrDefault(arg0, Set.of()).contains(arg1)) {
+                return 1;
             }
             return 0;
         }
@@ -1,123 +1,135 @@
 package com.adventofcode.solutions;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import com.adventofcode.util.BitGrid;
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Direction;
-import com.adventofcode.util.Pair;
-import com.adventofcode.util.Triple;
+import com.adventofcode.util.PackedPoint;
 
-public class Day6 implements Solver<Integer, Integer> {
-    // Parsed from input
-    Pair<Integer, Integer> initialPosition;
-    Set<Pair<Integer, Integer>> obstacles;
-    private int numOfRows;
-    private int numOfColumns;
+public enum Day6 implements ParsingSolver<Day6.Lab, Integer, Integer> {
+    INSTANCE;
 
-    // Current state
-    Pair<Integer, Integer> currentPosition;
-    Direction direction;
+    // Marks that no obstacle was added to the lab
+    private static final long NO_OBSTACLE = PackedPoint.of(-1, -1);
 
     @Override
-    public Integer solvePart1(String input) {
-        parseInput(input);
-
-        this.currentPosition = this.initialPosition;
-        Set<Pair<Integer, Integer>> visited = new HashSet<>();
-
-        while (0 <= this.currentPosition.first()
-                && this.currentPosition.first() < numOfColumns
-                && 0 <= this.currentPosition.second()
-                && this.currentPosition.second() < numOfRows) {
-            visited.add(currentPosition);
-            updatePosition();
+    public Integer solvePart1(Lab lab) {
+        var token = CancellationToken.current();
+        Guard guard = new Guard(lab.initialPosition());
+        BitGrid visited = new BitGrid(lab.numOfColumns(), lab.numOfRows());
+
+        while (lab.isInBounds(guard.position)) {
+            token.throwIfCancelled();
+            visited.add(lab.index(guard.position));
+            guard.move(lab, NO_OBSTACLE);
         }
 
-        return visited.size();
+        return visited.cardinality();
     }
 
     @Override
-    public Integer solvePart2(String input) {
-        parseInput(input);
-        this.currentPosition = this.initialPosition;
+    public Integer solvePart2(Lab lab) {
+        var token = CancellationToken.current();
         int count = 0;
-
-        for (int x = 0; x < numOfColumns; x++) {
-            for (int y = 0; y < numOfRows; y++) {
-                var newObstacle = new Pair<>(x, y);
-                count += checkIfLoops(newObstacle) ? 1 : 0;
-                reset();
+        // Reused by every simulation
+        BitGrid visitedWithDirection = BitGrid.perDirection(lab.numOfColumns(), lab.numOfRows());
+
+        for (int x = 0; x < lab.numOfColumns(); x++) {
+            for (int y = 0; y < lab.numOfRows(); y++) {
+                token.throwIfCancelled();
+                var newObstacle = PackedPoint.of(x, y);
+                count += checkIfLoops(lab, newObstacle, visitedWithDirection) ? 1 : 0;
             }
         }
 
         return count;
     }
 
-    boolean checkIfLoops(Pair<Integer, Integer> newObstacle) {
-        // NOTE: ALWAYS RESET BEFORE ANY RETURN
-        Set<Pair<Integer, Integer>> previousObstacles = new HashSet<>(obstacles);
-
-        this.obstacles.add(newObstacle);
-        Set<Triple<Integer, Integer, Direction>> visitedWithDirection = new HashSet<>();
+    boolean checkIfLoops(Lab lab, long newObstacle, BitGrid visitedWithDirection) {
+        Guard guard = new Guard(lab.initialPosition());
+        visitedWithDirection.clear();
 
-        while (0 <= this.currentPosition.first()
-                && this.currentPosition.first() < numOfColumns
-                && 0 <= this.currentPosition.second()
-                && this.currentPosition.second() < numOfRows) {
-            var currentState = new Triple<>(currentPosition.first(), currentPosition.second(), this.direction);
-
-            if (visitedWithDirection.contains(currentState)) {
-                this.obstacles = previousObstacles;
+        while (lab.isInBounds(guard.position)) {
+            if (!visitedWithDirection.add(lab.index(guard.position), guard.direction)) {
                 return true;
             }
 
-            visitedWithDirection.add(currentState);
-            updatePosition();
+            guard.move(lab, newObstacle);
         }
 
-        this.obstacles = previousObstacles;
         return false;
     }
 
-    void reset() {
-        this.currentPosition = this.initialPosition;
-        this.direction = Direction.UP;
-    };
-
-    void updatePosition() {
-        var directionAsPair = this.direction.asPair();
-        var nextPosition = new Pair<>(this.currentPosition.first() + directionAsPair.first(),
-                this.currentPosition.second() + directionAsPair.second());
-
-        if (obstacles.contains(nextPosition)) {
-            this.direction = this.direction.rotateClockwise();
-            updatePosition();
-        } else {
-            this.currentPosition = nextPosition;
-        }
-    }
+    @Override
+    public Lab parse(String input) {
+        // Out of bounds until the guard is found
+        long initialPosition = PackedPoint.of(-1, -1);
 
-    void parseInput(String input) {
-        this.obstacles = new HashSet<>();
         final var lines = input.lines().toList();
-        this.numOfRows = lines.size();
-        this.numOfColumns = lines.get(0).length();
-        this.direction = Direction.UP;
+        final int numOfRows = lines.size();
+        final int numOfColumns = lines.get(0).length();
+        BitGrid obstacles = new BitGrid(numOfColumns, numOfRows);
 
         for (int y = 0; y < numOfRows; y++) {
             for (int x = 0; x < numOfColumns; x++) {
                 switch (lines.get(y).charAt(x)) {
                     case '^':
-                        this.initialPosition = new Pair<>(x, y);
+                        initialPosition = PackedPoint.of(x, y);
                         break;
                     case '#':
-                        this.obstacles.add(new Pair<>(x, y));
+                        obstacles.add(y * numOfColumns + x);
                         break;
                     default:
                         break;
                 }
             }
         }
+
+        return new Lab(initialPosition, obstacles, numOfRows, numOfColumns);
     }
 
+    /**
+     * Everything parsed from the input. It is never modified while solving,
+     * so the same instance can be shared by every simulation.
+     *
+     * @param obstacles Indexes of the positions with an obstacle, row after
+     *                  row
+     */
+    record Lab(long initialPosition, BitGrid obstacles, int numOfRows, int numOfColumns) {
+
+        boolean isInBounds(long position) {
+            return PackedPoint.isInBounds(position, numOfColumns, numOfRows);
+        }
+
+        int index(long position) {
+            return PackedPoint.index(position, numOfColumns);
+        }
+
+        boolean isObstacle(long position) {
+            return isInBounds(position) && obstacles.contains(index(position));
+        }
+    }
+
+    /**
+     * Current state of a single simulation.
+     */
+    private static class Guard {
+        long position;
+        Direction direction;
+
+        Guard(long initialPosition) {
+            this.position = initialPosition;
+            this.direction = Direction.UP;
+        }
+
+        void move(Lab lab, long newObstacle) {
+            var nextPosition = PackedPoint.move(this.position, this.direction);
+
+            while (nextPosition == newObstacle || lab.isObstacle(nextPosition)) {
+                this.direction = this.direction.rotateClockwise();
+                nextPosition = PackedPoint.move(this.position, this.direction);
+            }
+
+            this.position = nextPosition;
+        }
+    }
 }
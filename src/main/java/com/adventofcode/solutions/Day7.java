@@ -4,6 +4,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.Pair;
 
 public enum Day7 implements Solver<Long, Long> {
@@ -11,21 +12,29 @@ public enum Day7 implements Solver<Long, Long> {
 
     @Override
     public Long solvePart1(String input) {
+        var token = CancellationToken.current();
         return parseInput(input).parallelStream()
-                .filter(pair -> calculatePossibleResults(pair.second(), pair.first())
-                        .contains(pair.first()))
+                .filter(pair -> {
+                    token.throwIfCancelled();
+                    return calculatePossibleResults(pair.second(), pair.first())
+                            .contains(pair.first());
+                })
                 .mapToLong(Pair::first)
                 .sum();
     }
 
     @Override
     public Long solvePart2(String input) {
+        var token = CancellationToken.current();
         return parseInput(input).parallelStream()
-                .filter(pair -> calculatePossibleResults(
-                        // Convert all values to BigInteger
-                        pair.second().stream().map(BigInteger::valueOf).toList(),
-                        BigInteger.valueOf(pair.first()))
-                        .contains(BigInteger.valueOf(pair.first())))
+                .filter(pair -> {
+                    token.throwIfCancelled();
+                    return calculatePossibleResults(
+                            // Convert all values to BigInteger
+                            pair.second().stream().map(BigInteger::valueOf).toList(),
+                            BigInteger.valueOf(pair.first()))
+                            .contains(BigInteger.valueOf(pair.first()));
+                })
                 .mapToLong(Pair::first)
                 .sum();
     }
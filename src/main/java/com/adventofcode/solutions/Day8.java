@@ -9,28 +9,27 @@ import java.util.stream.Collectors;
 
 import com.adventofcode.util.Pair;
 
-public class Day8 implements Solver<Integer, Integer> {
-    int numOfRows;
-    int numOfColumns;
+public enum Day8 implements ParsingSolver<Day8.City, Integer, Integer> {
+    INSTANCE;
 
     @Override
-    public Integer solvePart1(String input) {
-        var antiNodes = getAntiNodes(parseInput(input));
+    public Integer solvePart1(City city) {
+        var antiNodes = getAntiNodes(city);
 
         return antiNodes.size();
     }
 
     @Override
-    public Integer solvePart2(String input) {
-        var antiNodes = getAntiNodesWithHarmonics(parseInput(input));
+    public Integer solvePart2(City city) {
+        var antiNodes = getAntiNodesWithHarmonics(city);
 
         return antiNodes.size();
     }
 
-    List<Pair<Integer, Integer>> getAntiNodes(List<Antenna> antennas) {
+    List<Pair<Integer, Integer>> getAntiNodes(City city) {
         Set<Pair<Integer, Integer>> antiNodes = new HashSet<>();
 
-        Map<Character, List<Antenna>> antennasPerFrequency = antennas.stream()
+        Map<Character, List<Antenna>> antennasPerFrequency = city.antennas().stream()
                 .collect(Collectors.groupingBy(antenna -> antenna.frequency));
 
         antennasPerFrequency.forEach((f, a) -> {
@@ -53,15 +52,15 @@ public class Day8 implements Solver<Integer, Integer> {
         });
 
         return antiNodes.stream()
-                .filter(pair -> isInBounds(pair.first(), pair.second()))
+                .filter(pair -> city.isInBounds(pair.first(), pair.second()))
                 .sorted((a, b) -> a.first().compareTo(b.first()))
                 .toList();
     }
 
-    List<Pair<Integer, Integer>> getAntiNodesWithHarmonics(List<Antenna> antennas) {
+    List<Pair<Integer, Integer>> getAntiNodesWithHarmonics(City city) {
         Set<Pair<Integer, Integer>> antiNodes = new HashSet<>();
 
-        Map<Character, List<Antenna>> antennasPerFrequency = antennas.stream()
+        Map<Character, List<Antenna>> antennasPerFrequency = city.antennas().stream()
                 .collect(Collectors.groupingBy(antenna -> antenna.frequency));
 
         antennasPerFrequency.forEach((f, a) -> {
@@ -75,11 +74,11 @@ public class Day8 implements Solver<Integer, Integer> {
                     var dy1 = other.posY - antenna.posY;
                     var dy2 = antenna.posY - other.posY;
 
-                    for (int i = 0; isInBounds(antenna.posX - i * dx1, antenna.posY - i * dy1); i++) {
+                    for (int i = 0; city.isInBounds(antenna.posX - i * dx1, antenna.posY - i * dy1); i++) {
                         antiNodes.add(new Pair<>(antenna.posX - i * dx1, antenna.posY - i * dy1));
                     }
 
-                    for (int j = 0; isInBounds(other.posX - j * dx2, other.posY - j * dy2); j++) {
+                    for (int j = 0; city.isInBounds(other.posX - j * dx2, other.posY - j * dy2); j++) {
                         antiNodes.add(new Pair<>(other.posX - j * dx2, other.posY - j * dy2));
                     }
 
@@ -90,16 +89,13 @@ public class Day8 implements Solver<Integer, Integer> {
         return antiNodes.stream().toList();
     }
 
-    private boolean isInBounds(int x, int y) {
-        return 0 <= x && x < numOfColumns && 0 <= y && y < numOfRows;
-    }
-
-    List<Antenna> parseInput(String input) {
+    @Override
+    public City parse(String input) {
         List<Antenna> result = new ArrayList<>();
 
         List<String> lines = input.lines().toList();
-        this.numOfRows = lines.size();
-        this.numOfColumns = lines.get(0).length();
+        int numOfRows = lines.size();
+        int numOfColumns = lines.get(0).length();
 
         for (int y = 0; y < numOfRows; ++y) {
             for (int x = 0; x < numOfColumns; ++x) {
@@ -109,19 +105,26 @@ public class Day8 implements Solver<Integer, Integer> {
             }
         }
 
-        return result;
+        return new City(List.copyOf(result), numOfRows, numOfColumns);
+    }
+
+    record City(List<Antenna> antennas, int numOfRows, int numOfColumns) {
+        boolean isInBounds(int x, int y) {
+            return 0 <= x && x < numOfColumns && 0 <= y && y < numOfRows;
+        }
     }
 
     private record Antenna(char frequency, int posX, int posY) {
     }
 
     void printWithAntiNodes(String input) {
-        var antennas = parseInput(input);
-        var antiNodes = getAntiNodes(antennas);
+        var city = parse(input);
+        var antennas = city.antennas();
+        var antiNodes = getAntiNodes(city);
 
-        for (int j = 0; j < numOfRows; ++j) {
+        for (int j = 0; j < city.numOfRows(); ++j) {
             StringBuilder line = new StringBuilder();
-            for (int i = 0; i < numOfColumns; ++i) {
+            for (int i = 0; i < city.numOfColumns(); ++i) {
                 final int x = i;
                 final int y = j;
                 var antiNode = antiNodes.stream()
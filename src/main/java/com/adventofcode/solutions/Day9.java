@@ -2,14 +2,19 @@ package com.adventofcode.solutions;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
+import com.adventofcode.util.CancellationToken;
 import com.adventofcode.util.MutableIntRange;
 
 public enum Day9 implements Solver<Long, Long> {
     INSTANCE;
 
+    // Sizes in the disk map are single digits
+    private static final int MAX_SPAN_SIZE = 9;
+
     @Override
     public Long solvePart1(String input) {
         Disk disk = parseInput(input);
@@ -20,12 +25,16 @@ public enum Day9 implements Solver<Long, Long> {
         // Reverse sort by position
         fileBlocks.sort((a, b) -> Integer.compare(b.pos, a.pos));
         boolean addRemaining = false;
+        // Index of the first free block not used yet, as removing it from
+        // the head of the list would shift all the others every time
+        int nextFree = 0;
         for (var fileBlock : fileBlocks) {
-            addRemaining = addRemaining || freeSpace.isEmpty() || freeSpace.get(0) >= fileBlocks.size();
+            addRemaining = addRemaining || nextFree == freeSpace.size()
+                    || freeSpace.get(nextFree) >= fileBlocks.size();
             if (addRemaining) {
                 compressedFileBlocks.add(fileBlock);
             } else {
-                int newPos = freeSpace.removeFirst();
+                int newPos = freeSpace.get(nextFree++);
                 FileBlock newFile = fileBlock.withPos(newPos);
                 compressedFileBlocks.add(newFile);
             }
@@ -38,39 +47,51 @@ public enum Day9 implements Solver<Long, Long> {
 
     @Override
     public Long solvePart2(String input) {
+        var token = CancellationToken.current();
         DiskRanges disk = parseInputAsRanges(input);
         List<File> files = disk.files();
-        List<MutableIntRange> freeSpace = disk.freeSpace();
+
+        // Start positions of the free spans, by size, so that the leftmost
+        // span that fits a file is found without scanning all of them
+        List<PriorityQueue<Integer>> freeSpansBySize = new ArrayList<>(MAX_SPAN_SIZE + 1);
+        for (int size = 0; size <= MAX_SPAN_SIZE; ++size) {
+            freeSpansBySize.add(new PriorityQueue<>());
+        }
+        for (MutableIntRange freeRange : disk.freeSpace()) {
+            if (freeRange.size() > 0)
+                freeSpansBySize.get(freeRange.size()).add(freeRange.start());
+        }
 
         List<File> compressedFiles = new ArrayList<>(files.size());
-        // Iterate over the ids starting from the last
-        for (int id = files.stream()
-                .mapToInt(File::id)
-                .max()
-                .orElseGet(() -> 0); id >= 0; --id) {
-            // Declare as final to allow lambda shenanigans.
-            final int currentId = id;
-            var file = files.stream()
-                    .filter(f -> f.id() == currentId)
-                    .findFirst()
-                    .get();
-
-            boolean canMoveFile = false;
-            for (MutableIntRange freeRange : freeSpace) {
-                if (freeRange.size() >= file.size() && freeRange.start() < file.startPos()) {
-                    canMoveFile = true;
-                    // Move file if there is space available
-                    compressedFiles.add(file.withPos(freeRange.start()));
-                    freeRange.removeFromStart(file.size());
-                    break;
+        // Iterate over the ids starting from the last. Files are parsed in
+        // order, so the id of a file is also its index.
+        for (int id = files.size() - 1; id >= 0; --id) {
+            token.throwIfCancelled();
+            var file = files.get(id);
+
+            int bestSize = -1;
+            int bestStart = file.startPos();
+            for (int size = file.size(); size <= MAX_SPAN_SIZE; ++size) {
+                Integer start = freeSpansBySize.get(size).peek();
+                if (start != null && start < bestStart) {
+                    bestSize = size;
+                    bestStart = start;
                 }
             }
 
-            if (!canMoveFile) {
+            if (bestSize < 0) {
                 // If no space was available, copy the
                 // file unchanged on the output.
                 compressedFiles.add(file);
+                continue;
             }
+
+            // Move file to the space available, keeping what is left of it
+            freeSpansBySize.get(bestSize).poll();
+            compressedFiles.add(file.withPos(bestStart));
+            int remaining = bestSize - file.size();
+            if (remaining > 0)
+                freeSpansBySize.get(remaining).add(bestStart + file.size());
         }
 
         return compressedFiles.parallelStream()
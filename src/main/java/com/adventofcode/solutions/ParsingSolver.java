@@ -0,0 +1,34 @@
+package com.adventofcode.solutions;
+
+/**
+ * Solver that parses its input into a model once, and then solves each part
+ * from that model.
+ *
+ * Solving a part must never modify the parsed model, since the same model can
+ * be shared by both parts and by concurrent runs.
+ *
+ * @param <I>  Type of the parsed input
+ * @param <P1> Type of the answer for part 1
+ * @param <P2> Type of the answer for part 2
+ */
+public interface ParsingSolver<I, P1, P2> extends Solver<P1, P2> {
+    I parse(String input);
+
+    default P1 solvePart1(I input) {
+        throw new UnsupportedOperationException("Solution for part 1 not implemented yet!");
+    }
+
+    default P2 solvePart2(I input) {
+        throw new UnsupportedOperationException("Solution for part 2 not implemented yet!");
+    }
+
+    @Override
+    default P1 solvePart1(String input) {
+        return solvePart1(parse(input));
+    }
+
+    @Override
+    default P2 solvePart2(String input) {
+        return solvePart2(parse(input));
+    }
+}
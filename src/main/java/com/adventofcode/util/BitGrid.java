@@ -0,0 +1,156 @@
+package com.adventofcode.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of grid cells, e.g. the ones visited by a traversal, kept as one bit
+ * per cell. Cells are addressed by their index in a grid of the same size,
+ * see {@link Grid#index(int, int)}.
+ *
+ * A cell can also hold several bits, one per state, e.g. one per
+ * {@link Direction} to remember in which directions a cell was crossed.
+ *
+ * Clearing only touches the part of the set that was written since the
+ * last clear, so the same instance can be reused cheaply between
+ * iterations that visit a small part of the grid.
+ */
+public final class BitGrid {
+    private final long[] words;
+    private final int width;
+    private final int height;
+    private final int states;
+    // Range of words written since the last clear, empty if lowest > highest
+    private int lowestWritten;
+    private int highestWritten = -1;
+
+    /**
+     * One bit per cell.
+     */
+    public BitGrid(int width, int height) {
+        this(width, height, 1);
+    }
+
+    /**
+     * The given number of bits per cell.
+     */
+    public BitGrid(int width, int height, int states) {
+        if (width < 0 || height < 0 || states < 1)
+            throw new IllegalArgumentException(
+                    String.format("Invalid bit grid of %sx%s cells with %s states", width, height, states));
+
+        this.width = width;
+        this.height = height;
+        this.states = states;
+        this.words = new long[(int) ((((long) width * height * states) + 63) >>> 6)];
+        this.lowestWritten = words.length;
+    }
+
+    /**
+     * One bit per cell and direction.
+     */
+    public static BitGrid perDirection(int width, int height) {
+        return new BitGrid(width, height, Direction.values().length);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int states() {
+        return states;
+    }
+
+    public boolean contains(int index) {
+        return contains(index, 0);
+    }
+
+    public boolean contains(int index, Direction direction) {
+        return contains(index, direction.ordinal());
+    }
+
+    public boolean contains(int index, int state) {
+        int bit = bit(index, state);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Sets the bit of the cell.
+     *
+     * @return Whether the bit was not set yet, like {@link java.util.Set#add}
+     */
+    public boolean add(int index) {
+        return add(index, 0);
+    }
+
+    public boolean add(int index, Direction direction) {
+        return add(index, direction.ordinal());
+    }
+
+    public boolean add(int index, int state) {
+        int bit = bit(index, state);
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+
+        if ((words[word] & mask) != 0)
+            return false;
+
+        words[word] |= mask;
+        lowestWritten = Math.min(lowestWritten, word);
+        highestWritten = Math.max(highestWritten, word);
+        return true;
+    }
+
+    public void remove(int index) {
+        remove(index, 0);
+    }
+
+    public void remove(int index, Direction direction) {
+        remove(index, direction.ordinal());
+    }
+
+    public void remove(int index, int state) {
+        int bit = bit(index, state);
+        words[bit >>> 6] &= ~(1L << bit);
+    }
+
+    /**
+     * Unsets every bit.
+     */
+    public void clear() {
+        if (lowestWritten <= highestWritten)
+            Arrays.fill(words, lowestWritten, highestWritten + 1, 0L);
+
+        lowestWritten = words.length;
+        highestWritten = -1;
+    }
+
+    /**
+     * Number of bits set, counting every state of every cell.
+     */
+    public int cardinality() {
+        int count = 0;
+
+        for (int word = lowestWritten; word <= highestWritten; ++word) {
+            count += Long.bitCount(words[word]);
+        }
+
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    private int bit(int index, int state) {
+        if (index < 0 || index >= width * height)
+            throw new IndexOutOfBoundsException("Cell " + index + " is outside the grid");
+        if (state < 0 || state >= states)
+            throw new IndexOutOfBoundsException("State " + state + " is outside 0.." + (states - 1));
+
+        return index * states + state;
+    }
+}
@@ -0,0 +1,94 @@
+package com.adventofcode.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Lets long-running solvers notice that nobody is waiting for their answer
+ * anymore, so they can stop instead of keeping a core busy.
+ *
+ * A token is bound to the thread that runs a solve. Solvers fetch it with
+ * {@link #current()} before doing any work and poll it from their heavy
+ * loops, including the ones running on other threads, such as the tasks
+ * of a parallel stream.
+ *
+ * <pre>
+ * var token = CancellationToken.current();
+ * while (!openSet.isEmpty()) {
+ *     token.throwIfCancelled();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class CancellationToken {
+    /**
+     * Token that is never cancelled, used when nothing is bound to the
+     * current thread, e.g. when a solver is called directly from a test.
+     */
+    public static final CancellationToken NONE = new CancellationToken(null);
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final Thread owner;
+    private volatile boolean cancelled;
+
+    private CancellationToken(Thread owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Creates a token that is also considered cancelled once the current
+     * thread is interrupted, e.g. by a request timeout.
+     */
+    public static CancellationToken forCurrentThread() {
+        return new CancellationToken(Thread.currentThread());
+    }
+
+    /**
+     * Returns the token bound to the current thread, or {@link #NONE} if
+     * there is none.
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Runs the given action with this token bound to the current thread,
+     * restoring the previously bound token afterwards.
+     *
+     * @param <T>    Type of the result
+     * @param action Action to run
+     * @return The result of the action
+     */
+    public <T> T runWith(Supplier<T> action) {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous != null)
+                CURRENT.set(previous);
+            else
+                CURRENT.remove();
+        }
+    }
+
+    public void cancel() {
+        if (this != NONE)
+            cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (owner != null && owner.isInterrupted());
+    }
+
+    /**
+     * @throws CancellationException If the token was cancelled
+     */
+    public void throwIfCancelled() {
+        if (isCancelled())
+            throw new CancellationException("Solve cancelled");
+    }
+}
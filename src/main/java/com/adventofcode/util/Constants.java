@@ -50,6 +50,10 @@ public final class Constants {
             };
 
         }
+
+        public int toInteger() {
+            return ordinal() + 1;
+        }
     }
 
     /**
@@ -69,5 +73,9 @@ public final class Constants {
             };
 
         }
+
+        public int toInteger() {
+            return ordinal() + 1;
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.adventofcode.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class Digests {
+    // Text is encoded through a buffer of this size, instead of copying it
+    // whole into a byte array
+    private static final int ENCODING_CHUNK = 8192;
+
+    private Digests() {
+        // Utility class
+    }
+
+    /**
+     * SHA-256 of the remaining bytes of the buffer, as a hex string. The
+     * position of the given buffer is left untouched.
+     *
+     * @param bytes Contents to be hashed
+     * @return Digest identifying the contents
+     */
+    public static String sha256Hex(ByteBuffer bytes) {
+        MessageDigest sha256 = sha256();
+        sha256.update(bytes.duplicate());
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * SHA-256 of the text encoded as UTF-8, as a hex string. Gives the same
+     * digest as hashing the encoded bytes, without holding all of them in
+     * memory at once.
+     *
+     * @param text Contents to be hashed
+     * @return Digest identifying the contents
+     */
+    public static String sha256Hex(CharSequence text) {
+        MessageDigest sha256 = sha256();
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.wrap(text);
+        ByteBuffer chunk = ByteBuffer.allocate(ENCODING_CHUNK);
+
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, chunk, true);
+            sha256.update(chunk.flip());
+            chunk.clear();
+        } while (result.isOverflow());
+
+        do {
+            result = encoder.flush(chunk);
+            sha256.update(chunk.flip());
+            chunk.clear();
+        } while (result.isOverflow());
+
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,10 +4,21 @@ package com.adventofcode.util;
  * Represents a direction in 2D coordinates
  */
 public enum Direction {
-    UP,
-    RIGHT,
-    DOWN,
-    LEFT;
+    UP(0, -1),
+    RIGHT(1, 0),
+    DOWN(0, 1),
+    LEFT(-1, 0);
+
+    private final int dx;
+    private final int dy;
+    // Pairs are immutable, so every caller can share the same one
+    private final Pair<Integer, Integer> unitVector;
+
+    Direction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+        this.unitVector = new Pair<>(dx, dy);
+    }
 
     /**
      * Returns a pair representing the unit 2d vector
@@ -21,12 +32,21 @@ public enum Direction {
      * @return Unit vector representing the direction
      */
     public Pair<Integer, Integer> asPair() {
-        return switch (this) {
-            case UP -> new Pair<>(0, -1);
-            case RIGHT -> new Pair<>(1, 0);
-            case DOWN -> new Pair<>(0, 1);
-            case LEFT -> new Pair<>(-1, 0);
-        };
+        return unitVector;
+    }
+
+    /**
+     * Horizontal component of the unit vector, positive towards right.
+     */
+    public int dx() {
+        return dx;
+    }
+
+    /**
+     * Vertical component of the unit vector, positive towards down.
+     */
+    public int dy() {
+        return dy;
     }
 
     public static Direction fromPair(Pair<Integer, Integer> pair) {
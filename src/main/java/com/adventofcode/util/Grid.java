@@ -0,0 +1,332 @@
+package com.adventofcode.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Rectangular grid of characters, such as most puzzle maps, stored row
+ * after row in a single byte array.
+ *
+ * Cells can be addressed by their x and y coordinates, by a
+ * {@link PackedPoint} or by their index in the array, which is the
+ * cheapest way to walk the grid. As with {@link Direction}, x is positive
+ * towards right and y is positive towards down.
+ *
+ * Only characters that fit in a byte can be stored, which covers every
+ * puzzle input.
+ */
+public final class Grid {
+    // Offsets of the 8 neighbours, clockwise from the one above
+    private static final int[] DX_8 = { 0, 1, 1, 1, 0, -1, -1, -1 };
+    private static final int[] DY_8 = { -1, -1, 0, 1, 1, 1, 0, -1 };
+    // values() copies the array on every call
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final byte[] cells;
+    private final int width;
+    private final int height;
+
+    private Grid(byte[] cells, int width, int height) {
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Creates a grid with every cell set to the given value.
+     */
+    public Grid(int width, int height, char fill) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException(
+                    String.format("Invalid grid size %sx%s", width, height));
+
+        this.cells = new byte[width * height];
+        this.width = width;
+        this.height = height;
+        Arrays.fill(cells, toByte(fill));
+    }
+
+    /**
+     * Parses every line of the input as a row of the grid.
+     *
+     * @throws IllegalArgumentException If the lines have different lengths
+     */
+    public static Grid parse(String input) {
+        return fromLines(input.lines().toList());
+    }
+
+    /**
+     * @throws IllegalArgumentException If the lines have different lengths
+     */
+    public static Grid fromLines(List<? extends CharSequence> lines) {
+        int height = lines.size();
+        int width = height > 0 ? lines.get(0).length() : 0;
+        byte[] cells = new byte[width * height];
+
+        for (int y = 0; y < height; ++y) {
+            CharSequence line = lines.get(y);
+            if (line.length() != width)
+                throw new IllegalArgumentException(
+                        String.format("Line %s has %s characters, expected %s", y + 1, line.length(), width));
+
+            for (int x = 0; x < width; ++x) {
+                cells[y * width + x] = toByte(line.charAt(x));
+            }
+        }
+
+        return new Grid(cells, width, height);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Number of cells in the grid.
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    public boolean isInBounds(int x, int y) {
+        return PackedPoint.isInBounds(x, y, width, height);
+    }
+
+    public boolean isInBounds(long point) {
+        return PackedPoint.isInBounds(point, width, height);
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int index(long point) {
+        return PackedPoint.index(point, width);
+    }
+
+    public long point(int index) {
+        return PackedPoint.fromIndex(index, width);
+    }
+
+    public char get(int x, int y) {
+        return getAt(index(x, y));
+    }
+
+    public char get(long point) {
+        return getAt(index(point));
+    }
+
+    public char getAt(int index) {
+        return (char) (cells[index] & 0xFF);
+    }
+
+    /**
+     * Same as {@link #get(int, int)}, but returns the fallback for cells
+     * outside the grid instead of failing.
+     */
+    public char getOrDefault(int x, int y, char fallback) {
+        return isInBounds(x, y) ? get(x, y) : fallback;
+    }
+
+    public void set(int x, int y, char value) {
+        setAt(index(x, y), value);
+    }
+
+    public void set(long point, char value) {
+        setAt(index(point), value);
+    }
+
+    public void setAt(int index, char value) {
+        cells[index] = toByte(value);
+    }
+
+    /**
+     * Index of the first cell, row after row, holding the value, or -1 if
+     * there is none.
+     */
+    public int find(char value) {
+        byte target = toByte(value);
+
+        for (int i = 0; i < cells.length; ++i) {
+            if (cells[i] == target)
+                return i;
+        }
+
+        return -1;
+    }
+
+    public int count(char value) {
+        byte target = toByte(value);
+        int count = 0;
+
+        for (byte cell : cells) {
+            if (cell == target)
+                ++count;
+        }
+
+        return count;
+    }
+
+    /**
+     * Index of the neighbour of a cell towards the direction, or -1 if it
+     * is outside the grid.
+     */
+    public int neighbour(int index, Direction direction) {
+        int x = index % width + direction.dx();
+        int y = index / width + direction.dy();
+
+        return isInBounds(x, y) ? index(x, y) : -1;
+    }
+
+    /**
+     * Calls the action with the index of each of the up to 4 orthogonal
+     * neighbours of a cell that are inside the grid, in the order of
+     * {@link Direction#values()}.
+     */
+    public void forEachNeighbour(int index, IntConsumer action) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = neighbour(index, direction);
+            if (neighbour >= 0)
+                action.accept(neighbour);
+        }
+    }
+
+    /**
+     * Calls the action with the index of each of the up to 8 orthogonal and
+     * diagonal neighbours of a cell that are inside the grid, clockwise from
+     * the one above.
+     */
+    public void forEachNeighbour8(int index, IntConsumer action) {
+        int x = index % width;
+        int y = index / width;
+
+        for (int i = 0; i < DX_8.length; ++i) {
+            if (isInBounds(x + DX_8[i], y + DY_8[i]))
+                action.accept(index(x + DX_8[i], y + DY_8[i]));
+        }
+    }
+
+    /**
+     * Read-only view of a row, left to right. It reflects later changes to
+     * the grid.
+     */
+    public CharSequence row(int y) {
+        if (y < 0 || y >= height)
+            throw new IndexOutOfBoundsException("Row " + y + " is outside the grid");
+
+        return new Line(index(0, y), 1, width);
+    }
+
+    /**
+     * Read-only view of a column, top to bottom. It reflects later changes
+     * to the grid.
+     */
+    public CharSequence column(int x) {
+        if (x < 0 || x >= width)
+            throw new IndexOutOfBoundsException("Column " + x + " is outside the grid");
+
+        return new Line(x, width, height);
+    }
+
+    public Grid copy() {
+        return new Grid(cells.clone(), width, height);
+    }
+
+    /**
+     * Overwrites every cell with the ones of a grid of the same size,
+     * e.g. to restore a copy without allocating.
+     */
+    public void copyFrom(Grid other) {
+        if (other.width != width || other.height != height)
+            throw new IllegalArgumentException(
+                    String.format("Cannot copy a %sx%s grid into a %sx%s one",
+                            other.width, other.height, width, height));
+
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    private static byte toByte(char value) {
+        if (value > 0xFF)
+            throw new IllegalArgumentException("Character " + value + " does not fit in a grid cell");
+
+        return (byte) value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(height * (width + 1));
+
+        for (int y = 0; y < height; ++y) {
+            sb.append(row(y)).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(cells);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Grid other))
+            return false;
+
+        return width == other.width && height == other.height && Arrays.equals(cells, other.cells);
+    }
+
+    /**
+     * Cells from start, each step cells apart.
+     */
+    private final class Line implements CharSequence {
+        private final int start;
+        private final int step;
+        private final int length;
+
+        Line(int start, int step, int length) {
+            this.start = start;
+            this.step = step;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException(index);
+
+            return getAt(start + index * step);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length || from > to)
+                throw new IndexOutOfBoundsException("Invalid range " + from + ".." + to);
+
+            return new Line(start + from * step, step, to - from);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(length);
+
+            for (int i = 0; i < length; ++i) {
+                sb.append(charAt(i));
+            }
+
+            return sb.toString();
+        }
+    }
+}
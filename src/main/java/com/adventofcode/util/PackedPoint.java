@@ -0,0 +1,92 @@
+package com.adventofcode.util;
+
+/**
+ * 2D integer coordinates packed into a single long, for walking grids
+ * without allocating a {@link Pair} and boxing two integers on every step.
+ *
+ * The y coordinate takes the high 32 bits and the x coordinate the low
+ * 32 bits, so negative coordinates are kept as well, e.g. for a neighbour
+ * just outside the grid. For non-negative coordinates, comparing two
+ * packed points orders them row by row, like reading the puzzle input. A
+ * negative x is stored as a large unsigned value in the low half, so it
+ * sorts after every other point of its row.
+ *
+ * As with {@link Direction}, x is positive towards right and y is positive
+ * towards down.
+ *
+ * <pre>
+ * long point = PackedPoint.of(3, 4);
+ * long above = PackedPoint.move(point, Direction.UP);
+ *
+ * System.out.println(PackedPoint.toString(above));
+ * // Prints:
+ * // (3, 3)
+ * </pre>
+ */
+public final class PackedPoint {
+    private PackedPoint() {
+        // Utility class
+    }
+
+    public static long of(int x, int y) {
+        return ((long) y << 32) | (x & 0xFFFFFFFFL);
+    }
+
+    public static int x(long point) {
+        return (int) point;
+    }
+
+    public static int y(long point) {
+        return (int) (point >> 32);
+    }
+
+    public static long plus(long point, int dx, int dy) {
+        return of(x(point) + dx, y(point) + dy);
+    }
+
+    /**
+     * The neighbour of the point one step towards the given direction.
+     */
+    public static long move(long point, Direction direction) {
+        return plus(point, direction.dx(), direction.dy());
+    }
+
+    public static boolean isInBounds(long point, int columns, int rows) {
+        return isInBounds(x(point), y(point), columns, rows);
+    }
+
+    public static boolean isInBounds(int x, int y, int columns, int rows) {
+        return 0 <= x && x < columns && 0 <= y && y < rows;
+    }
+
+    /**
+     * Position of the point in a grid of the given width stored row after
+     * row in a flat array. The point must be in bounds.
+     */
+    public static int index(long point, int columns) {
+        return y(point) * columns + x(point);
+    }
+
+    /**
+     * Inverse of {@link #index(long, int)}.
+     */
+    public static long fromIndex(int index, int columns) {
+        return of(index % columns, index / columns);
+    }
+
+    public static long fromPair(Pair<Integer, Integer> pair) {
+        return of(pair.x(), pair.y());
+    }
+
+    public static Pair<Integer, Integer> toPair(long point) {
+        return new Pair<>(x(point), y(point));
+    }
+
+    public static int manhattanDistance(long a, long b) {
+        return Math.abs(x(a) - x(b)) + Math.abs(y(a) - y(b));
+    }
+
+    public static String toString(long point) {
+        return "(" + x(point) + ", " + y(point) + ")";
+    }
+}
@@ -1,109 +1,284 @@
 package com.adventofcode.util.counters;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
-public class ConcurrentCounter<T> implements Counter<T, Long> {
+/**
+ * Counter that can be updated from several threads at once without
+ * locking, e.g. from a parallel stream.
+ *
+ * Every key has its own {@link LongAdder}, so threads counting the same key
+ * do not contend on a single value, and threads counting different keys do
+ * not contend at all. The map is only written when a key is seen for the
+ * first time.
+ *
+ * Reading a count while it is being updated gives some value it had
+ * meanwhile. Use {@link #snapshot()} or {@link #total()} once the updating
+ * threads are done, e.g. after the parallel stream has completed, to get
+ * exact counts.
+ *
+ * <pre>
+ * var counter = new ConcurrentCounter&lt;Long&gt;();
+ * stones.parallelStream().forEach(counter::increment);
+ *
+ * Map&lt;Long, Long&gt; counts = counter.snapshot();
+ * </pre>
+ */
+public class ConcurrentCounter<T> extends AbstractMap<T, Long> implements Counter<T, Long> {
 
-    private final Map<T, Long> innerMap;
+    private final ConcurrentHashMap<T, LongAdder> cells;
 
     public ConcurrentCounter() {
-        this.innerMap = new java.util.concurrent.ConcurrentHashMap<>();
+        this.cells = new ConcurrentHashMap<>();
     }
 
-    public ConcurrentCounter(java.util.Collection<T> collection) {
-        this.innerMap = new java.util.concurrent.ConcurrentHashMap<>();
+    public ConcurrentCounter(Collection<T> collection) {
+        this.cells = new ConcurrentHashMap<>(collection.size());
 
         for (var value : collection) {
             this.increment(value);
         }
     }
 
+    /**
+     * Cell of the object, created if missing.
+     */
+    private LongAdder cell(T object) {
+        // get() never locks, so only the first sighting of a key goes
+        // through computeIfAbsent()
+        var cell = cells.get(object);
+        return cell != null ? cell : cells.computeIfAbsent(object, key -> new LongAdder());
+    }
+
+    /**
+     * Adds one to the current count of the object.
+     *
+     * @param object The object being counted
+     */
     @Override
-    public synchronized void increment(T object) {
-        innerMap.put(object, innerMap.getOrDefault(object, 0L) + 1);
+    public void increment(T object) {
+        cell(object).increment();
     }
 
+    /**
+     * Subtracts one from the current count of the object, if its count is
+     * greater than zero, otherwise keeps the same count.
+     *
+     * @param object The object being counted
+     */
     @Override
-    public synchronized void decrement(T object) {
-        if (get(object) > 0L)
-            innerMap.put(object, innerMap.get(object) - 1);
+    public void decrement(T object) {
+        decrementBy(object, 1L);
     }
 
+    /**
+     * Adds the given amount to the current count of the object.
+     *
+     * @param object The object being counted
+     * @param amount The amount to be added
+     */
     @Override
-    public synchronized void incrementBy(T object, Long amount) {
-        innerMap.put(object, innerMap.getOrDefault(object, 0L) + amount);
+    public void incrementBy(T object, Long amount) {
+        cell(object).add(amount);
     }
 
+    /**
+     * Subtracts the amount from the current count of the object, unless the
+     * count would become negative.
+     *
+     * Decrements of the same object are serialized by the map, while
+     * increments can only raise the count meanwhile, so the count never
+     * goes below zero.
+     *
+     * @param object The object being counted
+     * @param amount The amount to be subtracted
+     */
     @Override
-    public synchronized void decrementBy(T object, Long amount) {
-        if (get(object) - amount > 0L)
-            innerMap.put(object, innerMap.get(object) - 1);
+    public void decrementBy(T object, Long amount) {
+        long subtracted = amount;
+        cells.computeIfPresent(object, (key, cell) -> {
+            if (cell.sum() - subtracted >= 0L)
+                cell.add(-subtracted);
+            return cell;
+        });
     }
 
+    /**
+     * Returns the current count of a given object, 0 if it was never
+     * counted.
+     *
+     * @param object The object being counted
+     */
     @Override
     public Long get(Object object) {
-        return innerMap.getOrDefault(object, 0L);
+        var cell = cells.get(object);
+        return cell == null ? 0L : cell.sum();
+    }
+
+    /**
+     * Sum of every count.
+     */
+    public long total() {
+        long total = 0L;
+        for (var cell : cells.values()) {
+            total += cell.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Copies the current counts into a map that is not affected by later
+     * updates. The counts are exact if no thread is updating the counter
+     * meanwhile.
+     */
+    public Map<T, Long> snapshot() {
+        Map<T, Long> snapshot = new HashMap<>(cells.size());
+        cells.forEach((key, cell) -> snapshot.put(key, cell.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Adds every count of the other map to this counter. Can be called from
+     * several threads at once, e.g. to combine the counters of each task.
+     */
+    public void merge(Map<? extends T, ? extends Long> other) {
+        for (var entry : other.entrySet()) {
+            incrementBy(entry.getKey(), entry.getValue());
+        }
     }
 
     @Override
     public void clear() {
-        this.innerMap.clear();
+        this.cells.clear();
     }
 
+    /**
+     * Always returns true, as every key is valid.
+     * We just assume that objects not previously
+     * inserted have a count of 0.
+     */
     @Override
     public boolean containsKey(Object key) {
         return true;
     }
 
-    @Override
-    public boolean containsValue(Object count) {
-        return this.innerMap.containsValue(count);
-    }
-
     @Override
     public boolean isEmpty() {
-        return this.innerMap.isEmpty();
+        return this.cells.isEmpty();
     }
 
     @Override
-    public java.util.Set<T> keySet() {
-        return this.innerMap.keySet();
+    public Set<T> keySet() {
+        return this.cells.keySet();
     }
 
+    /**
+     * Updates the count of a given object. Does not accept negative counts.
+     *
+     * Increments of the object from other threads while it is being put may
+     * be lost.
+     *
+     * @throws IllegalArgumentException If count is negative.
+     */
     @Override
-    public synchronized Long put(T object, Long count) {
+    public Long put(T object, Long count) {
         if (count < 0L)
             throw new IllegalArgumentException("Count cannot be negative");
-        long oldValue = get(object);
-        this.innerMap.put(object, count);
-        return oldValue;
-    }
 
-    @Override
-    public synchronized void putAll(Map<? extends T, ? extends Long> m) {
-        for (var entry : m.entrySet()) {
-            put(entry.getKey(), entry.getValue());
-        }
+        var cell = new LongAdder();
+        cell.add(count);
+
+        var oldCell = this.cells.put(object, cell);
+        return oldCell == null ? 0L : oldCell.sum();
     }
 
     @Override
     public Long remove(Object key) {
-        return this.innerMap.remove(key);
+        var cell = this.cells.remove(key);
+        return cell == null ? null : cell.sum();
     }
 
     @Override
     public int size() {
-        return this.innerMap.size();
+        return this.cells.size();
     }
 
     @Override
-    public java.util.Collection<Long> values() {
-        return this.innerMap.values();
+    public Set<Entry<T, Long>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<T, Long>> iterator() {
+                var entries = cells.entrySet().iterator();
+                return new Iterator<>() {
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    public Entry<T, Long> next() {
+                        var entry = entries.next();
+                        return new CounterEntry(entry.getKey(), entry.getValue());
+                    }
+
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return cells.size();
+            }
+        };
     }
 
-    @Override
-    public java.util.Set<Entry<T, Long>> entrySet() {
-        return this.innerMap.entrySet();
+    private final class CounterEntry implements Entry<T, Long> {
+        private final T key;
+        private final LongAdder cell;
+
+        CounterEntry(T key, LongAdder cell) {
+            this.key = key;
+            this.cell = cell;
+        }
+
+        @Override
+        public T getKey() {
+            return key;
+        }
+
+        @Override
+        public Long getValue() {
+            return cell.sum();
+        }
+
+        @Override
+        public Long setValue(Long value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Entry<?, ?> other
+                    && key.equals(other.getKey())
+                    && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
     }
 
     @Override
@@ -113,10 +288,10 @@ public class ConcurrentCounter<T> implements Counter<T, Long> {
         }
 
         StringBuilder sb = new StringBuilder("ConcurrentCounter{");
-        for (var entry : innerMap.entrySet()) {
+        for (var entry : cells.entrySet()) {
             sb.append(entry.getKey())
                     .append('=')
-                    .append(entry.getValue())
+                    .append(entry.getValue().sum())
                     .append(", ");
         }
 
@@ -0,0 +1,93 @@
+package com.adventofcode.util.counters;
+
+/**
+ * Counter of int values that neither boxes nor allocates per key, see
+ * {@link OpenAddressingCounter}. Counts are longs, as in the other
+ * counters.
+ */
+public class IntCounter extends OpenAddressingCounter<Integer> {
+
+    @FunctionalInterface
+    public interface IntCountConsumer {
+        void accept(int key, long count);
+    }
+
+    public IntCounter() {
+        this(0);
+    }
+
+    /**
+     * @param expectedKeys Number of distinct keys to make room for, so that
+     *                     the table does not have to grow meanwhile
+     */
+    public IntCounter(int expectedKeys) {
+        super(expectedKeys);
+    }
+
+    /**
+     * Adds one to the current count of the key.
+     */
+    public void increment(int key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the current count of the key.
+     */
+    public void incrementBy(int key, long amount) {
+        add(key, amount);
+    }
+
+    /**
+     * Subtracts one from the current count of the key, if its count is
+     * greater than zero, otherwise keeps the same count.
+     */
+    public void decrement(int key) {
+        subtract(key, 1);
+    }
+
+    /**
+     * Subtracts the amount from the current count of the key, unless the
+     * count would become negative.
+     */
+    public void decrementBy(int key, long amount) {
+        subtract(key, amount);
+    }
+
+    /**
+     * Returns the current count of the key, 0 if it was never counted.
+     */
+    public long get(int key) {
+        return getCount(key);
+    }
+
+    /**
+     * Calls the action with every key and its count, in no particular order.
+     * The counter must not be modified meanwhile.
+     */
+    public void forEachCount(IntCountConsumer action) {
+        forEachSlot((key, count) -> action.accept((int) key, count));
+    }
+
+    /**
+     * Adds every count of the other counter to this one.
+     */
+    public void merge(IntCounter other) {
+        mergeFrom(other);
+    }
+
+    @Override
+    Integer box(long key) {
+        return (int) key;
+    }
+
+    @Override
+    boolean isKey(Object object) {
+        return object instanceof Integer;
+    }
+
+    @Override
+    long unbox(Object key) {
+        return (Integer) key;
+    }
+}
@@ -0,0 +1,102 @@
+package com.adventofcode.util.counters;
+
+/**
+ * Counter of long values that neither boxes nor allocates per key, see
+ * {@link OpenAddressingCounter}.
+ *
+ * <pre>
+ * var counter = new LongCounter();
+ * counter.incrementBy(2024L, 3);
+ * counter.increment(7L);
+ *
+ * System.out.println(counter.get(2024L) + " of " + counter.total());
+ * // Prints:
+ * // 3 of 4
+ * </pre>
+ */
+public class LongCounter extends OpenAddressingCounter<Long> {
+
+    @FunctionalInterface
+    public interface LongCountConsumer {
+        void accept(long key, long count);
+    }
+
+    public LongCounter() {
+        this(0);
+    }
+
+    /**
+     * @param expectedKeys Number of distinct keys to make room for, so that
+     *                     the table does not have to grow meanwhile
+     */
+    public LongCounter(int expectedKeys) {
+        super(expectedKeys);
+    }
+
+    /**
+     * Adds one to the current count of the key.
+     */
+    public void increment(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the current count of the key.
+     */
+    public void incrementBy(long key, long amount) {
+        add(key, amount);
+    }
+
+    /**
+     * Subtracts one from the current count of the key, if its count is
+     * greater than zero, otherwise keeps the same count.
+     */
+    public void decrement(long key) {
+        subtract(key, 1);
+    }
+
+    /**
+     * Subtracts the amount from the current count of the key, unless the
+     * count would become negative.
+     */
+    public void decrementBy(long key, long amount) {
+        subtract(key, amount);
+    }
+
+    /**
+     * Returns the current count of the key, 0 if it was never counted.
+     */
+    public long get(long key) {
+        return getCount(key);
+    }
+
+    /**
+     * Calls the action with every key and its count, in no particular order.
+     * The counter must not be modified meanwhile.
+     */
+    public void forEachCount(LongCountConsumer action) {
+        forEachSlot(action::accept);
+    }
+
+    /**
+     * Adds every count of the other counter to this one.
+     */
+    public void merge(LongCounter other) {
+        mergeFrom(other);
+    }
+
+    @Override
+    Long box(long key) {
+        return key;
+    }
+
+    @Override
+    boolean isKey(Object object) {
+        return object instanceof Long;
+    }
+
+    @Override
+    long unbox(Object key) {
+        return (Long) key;
+    }
+}
@@ -0,0 +1,464 @@
+package com.adventofcode.util.counters;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Counter with primitive keys, kept in a hash table with open addressing
+ * and linear probing, so that counting does not box the keys nor the
+ * counts, nor allocate a node per key.
+ *
+ * Keys are stored as longs, subclasses convert them from and to their key
+ * type. The {@link Map} methods box as usual, the primitive methods of the
+ * subclasses should be preferred in hot paths.
+ *
+ * @param <T> Boxed type of the keys
+ */
+abstract class OpenAddressingCounter<T> extends AbstractMap<T, Long> implements Counter<T, Long> {
+    private static final int MIN_CAPACITY = 16;
+    // Grows the table once it is more than this full
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] counts;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int shift;
+    private int resizeThreshold;
+
+    OpenAddressingCounter(int expectedKeys) {
+        allocate(capacityFor(expectedKeys));
+    }
+
+    /**
+     * Converts a key to the boxed type.
+     */
+    abstract T box(long key);
+
+    /**
+     * Whether the object can be a key of this counter, i.e. it has the
+     * boxed type.
+     */
+    abstract boolean isKey(Object object);
+
+    /**
+     * Converts a boxed key, already checked with {@link #isKey(Object)}.
+     */
+    abstract long unbox(Object key);
+
+    private static int capacityFor(int expectedKeys) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * MAX_LOAD < expectedKeys) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * MAX_LOAD);
+    }
+
+    private int idealSlot(long key) {
+        // Fibonacci hashing, so that sequential keys are spread out
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Slot holding the key, or -1 if it is not in the table.
+     */
+    private int find(long key) {
+        for (int slot = idealSlot(key);; slot = (slot + 1) & mask) {
+            if (!used[slot])
+                return -1;
+            if (keys[slot] == key)
+                return slot;
+        }
+    }
+
+    /**
+     * Slot holding the key, inserted with a count of zero if missing.
+     */
+    private int findOrInsert(long key) {
+        int slot = idealSlot(key);
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return slot;
+        }
+
+        if (size >= resizeThreshold) {
+            resize(keys.length << 1);
+            return findOrInsert(key);
+        }
+
+        used[slot] = true;
+        keys[slot] = key;
+        counts[slot] = 0;
+        ++size;
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (!oldUsed[i])
+                continue;
+
+            int slot = idealSlot(oldKeys[i]);
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    /**
+     * Empties the slot, moving back the keys after it that would not be
+     * found anymore otherwise, since there are no tombstones.
+     */
+    private void removeAt(int hole) {
+        int slot = hole;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot])
+                break;
+
+            int ideal = idealSlot(keys[slot]);
+            boolean reachable = hole <= slot
+                    ? hole < ideal && ideal <= slot
+                    : hole < ideal || ideal <= slot;
+
+            if (!reachable) {
+                keys[hole] = keys[slot];
+                counts[hole] = counts[slot];
+                hole = slot;
+            }
+        }
+
+        used[hole] = false;
+        --size;
+    }
+
+    long getCount(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    void add(long key, long amount) {
+        // Not inlined, as the table may be replaced while finding the slot
+        int slot = findOrInsert(key);
+        counts[slot] += amount;
+    }
+
+    /**
+     * Subtracts the amount, unless the count would become negative.
+     */
+    void subtract(long key, long amount) {
+        int slot = find(key);
+        if (slot >= 0 && counts[slot] - amount >= 0)
+            counts[slot] -= amount;
+    }
+
+    long putCount(long key, long count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count cannot be negative");
+
+        int slot = findOrInsert(key);
+        long oldValue = counts[slot];
+        counts[slot] = count;
+        return oldValue;
+    }
+
+    boolean removeKey(long key) {
+        int slot = find(key);
+        if (slot < 0)
+            return false;
+
+        removeAt(slot);
+        return true;
+    }
+
+    boolean hasKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Calls the action with every key and its count, in no particular order.
+     * The counter must not be modified meanwhile.
+     */
+    void forEachSlot(SlotConsumer action) {
+        for (int slot = 0; slot < keys.length; ++slot) {
+            if (used[slot])
+                action.accept(keys[slot], counts[slot]);
+        }
+    }
+
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(long key, long count);
+    }
+
+    /**
+     * Adds the counts of the other counter to this one.
+     */
+    void mergeFrom(OpenAddressingCounter<?> other) {
+        other.forEachSlot(this::add);
+    }
+
+    /**
+     * Sum of every count.
+     */
+    public long total() {
+        long total = 0;
+        for (int slot = 0; slot < keys.length; ++slot) {
+            if (used[slot])
+                total += counts[slot];
+        }
+        return total;
+    }
+
+    @Override
+    public void increment(T object) {
+        add(unbox(object), 1);
+    }
+
+    /**
+     * Subtracts one from the current count of the object, if its count is
+     * greater than zero, otherwise keeps the same count.
+     */
+    @Override
+    public void decrement(T object) {
+        subtract(unbox(object), 1);
+    }
+
+    @Override
+    public void incrementBy(T object, Long amount) {
+        add(unbox(object), amount);
+    }
+
+    /**
+     * Subtracts the amount from the current count of the object, unless
+     * the count would become negative.
+     */
+    @Override
+    public void decrementBy(T object, Long amount) {
+        subtract(unbox(object), amount);
+    }
+
+    /**
+     * Returns the current count of a given object, 0 if it was never
+     * counted.
+     */
+    @Override
+    public Long get(Object object) {
+        return isKey(object) ? getCount(unbox(object)) : 0L;
+    }
+
+    /**
+     * Always returns true, as every key is valid.
+     * We just assume that objects not previously
+     * inserted have a count of 0.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return true;
+    }
+
+    /**
+     * Updates the count of a given object. Does not accept negative counts.
+     *
+     * @throws IllegalArgumentException If count is negative.
+     */
+    @Override
+    public Long put(T object, Long count) {
+        return putCount(unbox(object), count);
+    }
+
+    @Override
+    public Long remove(Object key) {
+        if (!isKey(key))
+            return null;
+
+        long unboxed = unbox(key);
+        int slot = find(unboxed);
+        if (slot < 0)
+            return null;
+
+        long count = counts[slot];
+        removeAt(slot);
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<T> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<T> iterator() {
+                var entries = entrySet().iterator();
+                return new Iterator<>() {
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    public T next() {
+                        return entries.next().getKey();
+                    }
+
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object object) {
+                return isKey(object) && hasKey(unbox(object));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Entries are iterated over a snapshot of the keys, so removing through
+     * the iterator is safe. Their values reflect the current counts.
+     */
+    @Override
+    public Set<Entry<T, Long>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<T, Long>> iterator() {
+                long[] snapshot = new long[size];
+                int[] index = { 0 };
+                forEachSlot((key, count) -> snapshot[index[0]++] = key);
+
+                return new Iterator<>() {
+                    int next = 0;
+                    boolean canRemove = false;
+
+                    public boolean hasNext() {
+                        return next < snapshot.length;
+                    }
+
+                    public Entry<T, Long> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+
+                        long key = snapshot[next++];
+                        canRemove = true;
+                        return new CounterEntry(key);
+                    }
+
+                    public void remove() {
+                        if (!canRemove)
+                            throw new IllegalStateException();
+
+                        removeKey(snapshot[next - 1]);
+                        canRemove = false;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private final class CounterEntry implements Entry<T, Long> {
+        private final long key;
+
+        CounterEntry(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public T getKey() {
+            return box(key);
+        }
+
+        @Override
+        public Long getValue() {
+            return getCount(key);
+        }
+
+        @Override
+        public Long setValue(Long value) {
+            return putCount(key, value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Entry<?, ?> other
+                    && getKey().equals(other.getKey())
+                    && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "Counter{}";
+        }
+
+        StringBuilder sb = new StringBuilder("Counter{");
+        forEachSlot((key, count) -> sb.append(key)
+                .append('=')
+                .append(count)
+                .append(", "));
+
+        sb.setLength(sb.length() - 2);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.adventofcode.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.service.BatchResult;
+
+public class BatchRunnerTest {
+
+    String day1 = """
+            3   4
+            4   3
+            2   5
+            1   3
+            3   9
+            3   3
+            """;
+
+    @Test
+    public void testRun() throws IOException {
+        Path directory = Files.createTempDirectory("batch-runner");
+        Files.writeString(directory.resolve("day1.txt"), day1);
+        Files.writeString(directory.resolve("day1_part2.txt"), day1);
+        Files.writeString(directory.resolve("day25_part1.txt"), "");
+        Files.writeString(directory.resolve("notes.md"), "Not an input");
+
+        var jobs = BatchRunner.findJobs(directory);
+
+        assertEquals(3, jobs.size());
+        assertEquals("day1.txt", jobs.get(0).file().getFileName().toString());
+        assertEquals("day1_part2.txt", jobs.get(1).file().getFileName().toString());
+
+        var results = BatchRunner.run(jobs, 2);
+
+        assertEquals("11", results.get(0).answer());
+        assertEquals("31", results.get(1).answer());
+        assertNull(results.get(2).answer());
+        assertEquals("Solution not implemented yet", results.get(2).error());
+    }
+
+    @Test
+    public void testStackOverflowReportedPerJob() throws IOException {
+        Path directory = Files.createTempDirectory("batch-runner");
+        // Pushing a row this long recurses once per box half
+        int boxes = 100_000;
+        String wall = "#".repeat(boxes + 4);
+        Files.writeString(directory.resolve("day1.txt"), day1);
+        Files.writeString(directory.resolve("day15_part2.txt"),
+                wall + "\n#." + "O".repeat(boxes) + "@#\n" + wall + "\n\n<\n");
+
+        var results = BatchRunner.run(BatchRunner.findJobs(directory), 2);
+
+        assertEquals("11", results.get(0).answer());
+        assertEquals("31", results.get(1).answer());
+        assertNull(results.get(2).answer());
+        assertEquals("StackOverflowError", results.get(2).error());
+    }
+
+    @Test
+    public void testFormats() {
+        var results = List.of(
+                new BatchResult(1, 1, "11", null, 42),
+                new BatchResult(2, 2, null, "Bad \"input\", line 1", 7));
+
+        assertEquals("""
+                day,part,answer,error,elapsed_nanos
+                1,1,11,,42
+                2,2,,"Bad ""input"", line 1",7
+                """, BatchRunner.toCsv(results));
+
+        assertEquals("""
+                [
+                  {"day": 1, "part": 1, "answer": "11", "error": null, "elapsedNanos": 42},
+                  {"day": 2, "part": 2, "answer": null, "error": "Bad \\"input\\", line 1", "elapsedNanos": 7}
+                ]
+                """, BatchRunner.toJson(results));
+    }
+}
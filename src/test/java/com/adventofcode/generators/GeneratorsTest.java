@@ -0,0 +1,79 @@
+package com.adventofcode.generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.solutions.Day6;
+import com.adventofcode.solutions.Day9;
+import com.adventofcode.util.Constants.Day;
+
+public class GeneratorsTest {
+    static final int SIZE = 20;
+
+    @Test
+    @DisplayName("Should have a generator for every implemented day")
+    void testEveryDayHasAGenerator() {
+        for (Day day : SolverRegistry.INSTANCE.days()) {
+            assertTrue(Generators.INSTANCE.days().contains(day), "Missing generator for " + day);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate the same input for the same seed")
+    void testDeterministic() {
+        for (Day day : Generators.INSTANCE.days()) {
+            var generator = Generators.INSTANCE.get(day);
+
+            assertEquals(generator.generate(SIZE, 1), generator.generate(SIZE, 1), day.toString());
+            assertNotEquals(generator.generate(SIZE, 1), generator.generate(SIZE, 2), day.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate inputs that the solvers accept")
+    void testSolvable() {
+        for (Day day : Generators.INSTANCE.days()) {
+            String input = Generators.INSTANCE.get(day).generate(SIZE, 42);
+            var solver = SolverRegistry.INSTANCE.get(day);
+
+            solver.solvePart1(input);
+            // Part 2 of day 17 is not implemented, and the one of day 18
+            // always runs on the full 71x71 space, which is too slow here
+            if (day != Day.DAY_17 && day != Day.DAY_18)
+                solver.solvePart2(input);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate a lab the guard leaves after walking around")
+    void testDay6GuardLeaves() {
+        String input = Day6Generator.INSTANCE.generate(50, 7);
+
+        assertEquals(1, input.chars().filter(ch -> ch == '^').count());
+        // Part 1 would never end if the guard walked in a loop
+        assertTrue(Day6.INSTANCE.solvePart1(input) > 1);
+    }
+
+    @Test
+    @DisplayName("Should generate a disk map that ends with a file")
+    void testDay9DiskMap() {
+        String input = Day9Generator.INSTANCE.generate(SIZE, 3).strip();
+
+        assertEquals(SIZE - 1, input.length());
+        assertTrue(Day9.INSTANCE.solvePart2(input + '\n') >= 0);
+    }
+
+    @Test
+    @DisplayName("Should keep a path open after the first kilobyte falls")
+    void testDay18PathOpen() {
+        String input = Day18Generator.INSTANCE.generate(SIZE, 5);
+
+        assertEquals(71 * 71 - 2, input.lines().count());
+        assertTrue((int) SolverRegistry.INSTANCE.get(Day.DAY_18).solvePart1(input) >= 140);
+    }
+}
@@ -0,0 +1,41 @@
+package com.adventofcode.routes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.service.AdmissionRejectedException;
+import com.adventofcode.service.AdmissionRejectedException.Reason;
+
+public class AdmissionExceptionMapperTest {
+    AdmissionExceptionMapper mapper = new AdmissionExceptionMapper();
+
+    @Test
+    public void testQueueFullIsTooManyRequests() {
+        var response = mapper.mapAdmissionRejected(
+                new AdmissionRejectedException(Reason.QUEUE_FULL, "Queue full", Duration.ofSeconds(30)));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeaderString("Retry-After"));
+        assertEquals("Queue full", response.getEntity());
+    }
+
+    @Test
+    public void testTimedOutIsServiceUnavailable() {
+        var response = mapper.mapAdmissionRejected(
+                new AdmissionRejectedException(Reason.TIMED_OUT, "Timed out", Duration.ofSeconds(30)));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("30", response.getHeaderString("Retry-After"));
+    }
+
+    @Test
+    public void testRetryAfterAtLeastOneSecond() {
+        var response = mapper.mapAdmissionRejected(
+                new AdmissionRejectedException(Reason.TIMED_OUT, "Timed out", Duration.ofMillis(50)));
+
+        assertEquals("1", response.getHeaderString("Retry-After"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.adventofcode.routes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.util.Constants.Day;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.WebApplicationException;
+
+public class SolverResourceTest {
+    byte[] input = "3   4\n4   3\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testDecodeIdentity() {
+        assertArrayEquals(input, SolverResource.decode(input, "identity"));
+    }
+
+    @Test
+    public void testDecodeGzip() throws IOException {
+        assertArrayEquals(input, SolverResource.decode(gzip(input), "gzip"));
+        assertArrayEquals(input, SolverResource.decode(gzip(input), " X-GZIP "));
+    }
+
+    @Test
+    public void testDecodedSizeLimit() throws IOException {
+        byte[] zeros = new byte[4096];
+        byte[] body = gzip(zeros);
+
+        assertArrayEquals(zeros, SolverResource.decode(body, "gzip", zeros.length));
+
+        var rejected = assertThrows(WebApplicationException.class,
+                () -> SolverResource.decode(body, "gzip", zeros.length - 1));
+        assertEquals(413, rejected.getResponse().getStatus());
+    }
+
+    @Test
+    public void testUnsupportedEncoding() {
+        var rejected = assertThrows(WebApplicationException.class,
+                () -> SolverResource.decode(input, "br"));
+        assertEquals(415, rejected.getResponse().getStatus());
+    }
+
+    @Test
+    public void testCorruptGzip() throws IOException {
+        byte[] body = gzip(input);
+        byte[] truncated = Arrays.copyOf(body, body.length / 2);
+
+        var notGzip = assertThrows(BadRequestException.class, () -> SolverResource.decode(input, "gzip"));
+        assertEquals(400, notGzip.getResponse().getStatus());
+        assertThrows(BadRequestException.class, () -> SolverResource.decode(truncated, "gzip"));
+    }
+
+    @Test
+    public void testBatchDay() {
+        assertEquals(Day.DAY_1, SolverResource.batchDay("day_1"));
+        assertEquals(Day.DAY_14, SolverResource.batchDay("day_14"));
+
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("input"));
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("day_"));
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("day_14_part2"));
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("day_0"));
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("day_26"));
+        assertThrows(BadRequestException.class, () -> SolverResource.batchDay("day_99999999999"));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,117 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testWeights() {
+        var controller = new AdmissionController(2, 4, 0, Duration.ofSeconds(1));
+
+        try (var heavy = controller.admit(Day.DAY_6, Part.PART_2);
+                var light = controller.admit(Day.DAY_1, Part.PART_1)) {
+            assertEquals(0, controller.available(true));
+            assertEquals(1, controller.available(false));
+        }
+
+        assertEquals(4, controller.available(true));
+        assertEquals(2, controller.available(false));
+    }
+
+    @Test
+    public void testPermitReleasedOnce() {
+        var controller = new AdmissionController(2, 4, 0, Duration.ofSeconds(1));
+
+        var permit = controller.admit(Day.DAY_9, Part.PART_2);
+        permit.close();
+        permit.close();
+
+        assertEquals(4, controller.available(true));
+    }
+
+    @Test
+    public void testQueueFull() {
+        var controller = new AdmissionController(1, 4, 0, Duration.ofSeconds(30));
+
+        try (var permit = controller.admit(Day.DAY_6, Part.PART_2)) {
+            var rejected = assertThrows(AdmissionRejectedException.class,
+                    () -> controller.admit(Day.DAY_16, Part.PART_1));
+            assertEquals(AdmissionRejectedException.Reason.QUEUE_FULL, rejected.reason());
+        }
+
+        assertEquals(0, controller.queued(true));
+    }
+
+    @Test
+    public void testTimedOut() {
+        var controller = new AdmissionController(1, 4, 1, Duration.ofMillis(50));
+
+        try (var permit = controller.admit(Day.DAY_1, Part.PART_1)) {
+            var rejected = assertThrows(AdmissionRejectedException.class,
+                    () -> controller.admit(Day.DAY_2, Part.PART_1));
+            assertEquals(AdmissionRejectedException.Reason.TIMED_OUT, rejected.reason());
+        }
+
+        assertEquals(0, controller.queued(false));
+    }
+
+    @Test
+    public void testHeavyWaiterNotOvertaken() throws Exception {
+        var controller = new AdmissionController(1, 4, 2, Duration.ofSeconds(30));
+        List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> waiters = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(2)) {
+            var held = controller.admit(Day.DAY_9, Part.PART_2);
+
+            // Needs every permit, so it waits for the one being held
+            waiters.add(clients.submit(() -> {
+                try (var permit = controller.admit(Day.DAY_6, Part.PART_2)) {
+                    admitted.add("heavy");
+                }
+            }));
+            awaitCondition(() -> controller.queued(true) == 1);
+
+            // Enough permits are free for this one, but it arrived later
+            waiters.add(clients.submit(() -> {
+                try (var permit = controller.admit(Day.DAY_9, Part.PART_2)) {
+                    admitted.add("lighter");
+                }
+            }));
+            awaitCondition(() -> controller.queued(true) == 2);
+            assertEquals(2, controller.available(true));
+
+            held.close();
+            for (var waiter : waiters) {
+                waiter.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(List.of("heavy", "lighter"), admitted);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.util.CancellationToken;
+
+public class ExecutionContextTest {
+
+    @Test
+    public void testTimeoutStopsBlockedTask() throws InterruptedException {
+        var context = new ExecutionContext(1);
+        var stopped = new CountDownLatch(1);
+
+        assertThrows(CancellationException.class, () -> context.run(() -> {
+            try {
+                // Stands for a write to a client that stopped reading
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                stopped.countDown();
+            }
+            return null;
+        }, Duration.ofMillis(50)));
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS), "The worker was not interrupted");
+    }
+
+    @Test
+    public void testTimeoutNotReached() {
+        var context = new ExecutionContext(1);
+
+        assertEquals(42, context.run(() -> 42, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void testInterruptCancelsTask() throws InterruptedException {
+        var context = new ExecutionContext(1);
+        var started = new CountDownLatch(1);
+        var stopped = new CountDownLatch(1);
+        var callerFailure = new AtomicReference<Throwable>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                context.run(() -> {
+                    var token = CancellationToken.current();
+                    started.countDown();
+                    try {
+                        while (true) {
+                            token.throwIfCancelled();
+                            Thread.onSpinWait();
+                        }
+                    } finally {
+                        stopped.countDown();
+                    }
+                });
+            } catch (Throwable e) {
+                callerFailure.set(e);
+            }
+        });
+        caller.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Like a request timeout does
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertTrue(callerFailure.get() instanceof CancellationException, "Caller got " + callerFailure.get());
+        assertTrue(stopped.await(5, TimeUnit.SECONDS), "The task did not stop");
+    }
+
+    @Test
+    public void testParallelStreamsStayInPool() {
+        var context = new ExecutionContext(2);
+
+        var pools = context.run(() -> {
+            var pool = ForkJoinTask.getPool();
+            return IntStream.range(0, 1_000).parallel()
+                    .mapToObj(i -> Thread.currentThread() instanceof ForkJoinWorkerThread worker
+                            ? worker.getPool()
+                            : null)
+                    .distinct()
+                    .map(workerPool -> workerPool == pool)
+                    .toList();
+        });
+
+        assertEquals(List.of(true), pools);
+    }
+
+    @Test
+    public void testPoolSizedByParallelism() {
+        var context = new ExecutionContext(3);
+
+        var pool = context.run(ForkJoinTask::getPool);
+
+        assertNotSame(ForkJoinPool.commonPool(), pool);
+        assertEquals(3, pool.getParallelism());
+        assertNotSame(pool, context.run(ForkJoinTask::getPool));
+    }
+}
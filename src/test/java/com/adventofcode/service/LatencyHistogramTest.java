@@ -0,0 +1,50 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.p99Nanos());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE }) {
+            int index = LatencyHistogram.indexOf(value);
+
+            assertTrue(LatencyHistogram.lowerBound(index) <= value, "Lower bound of " + value);
+            if (value < Long.MAX_VALUE / 2)
+                assertTrue(LatencyHistogram.lowerBound(index + 1) > value, "Upper bound of " + value);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        var histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 1000; ++millis) {
+            histogram.record(millis * 1_000_000);
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.count());
+        assertEquals(1000_000_000, snapshot.maxNanos());
+        assertWithin(500_500_000, snapshot.meanNanos(), 0.001);
+        assertWithin(500_000_000, snapshot.p50Nanos(), 0.07);
+        assertWithin(900_000_000, snapshot.p90Nanos(), 0.07);
+        assertWithin(990_000_000, snapshot.p99Nanos(), 0.07);
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue(Math.abs(actual - expected) <= expected * relativeError,
+                "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,85 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+public class ResultCacheTest {
+    // Weight of an answer of the given length, see ResultCache.weigh()
+    static long weight(int length) {
+        return 256 + length;
+    }
+
+    static ResultCache.Key key(String digest) {
+        return new ResultCache.Key(Day.DAY_1, Part.PART_1, digest, SolverParameters.NONE);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        var cache = new ResultCache(2, Long.MAX_VALUE);
+
+        cache.put(key("a"), "1");
+        cache.put(key("b"), "2");
+        // Reading an answer makes it the most recently used
+        cache.get(key("a"));
+        cache.put(key("c"), "3");
+
+        assertEquals(Optional.of("1"), cache.get(key("a")));
+        assertEquals(Optional.empty(), cache.get(key("b")));
+        assertEquals(Optional.of("3"), cache.get(key("c")));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testByteAccounting() {
+        var cache = new ResultCache(100, 3 * weight(10));
+
+        cache.put(key("a"), "1".repeat(10));
+        cache.put(key("b"), "2".repeat(10));
+        assertEquals(2 * weight(10), cache.usedBytes());
+
+        // Replacing an answer only counts the new one
+        cache.put(key("a"), "1".repeat(5));
+        assertEquals(weight(5) + weight(10), cache.usedBytes());
+
+        // Does not fit next to both, so "b", the least recently used, goes
+        cache.put(key("c"), "3".repeat(200));
+        assertEquals(Optional.empty(), cache.get(key("b")));
+        assertEquals(weight(5) + weight(200), cache.usedBytes());
+
+        // Larger than the whole cache, not stored at all
+        cache.put(key("d"), "4".repeat((int) (3 * weight(10))));
+        assertEquals(Optional.empty(), cache.get(key("d")));
+        assertEquals(2, cache.size());
+        assertTrue(cache.usedBytes() <= 3 * weight(10));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        var cache = new ResultCache(10, Long.MAX_VALUE);
+
+        cache.get(key("a"));
+        cache.put(key("a"), "1");
+        cache.get(key("a"));
+        cache.get(key("a"));
+
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void testDisabled() {
+        var cache = new ResultCache(0, Long.MAX_VALUE);
+
+        cache.put(key("a"), "1");
+
+        assertEquals(Optional.empty(), cache.get(key("a")));
+        assertEquals(0, cache.usedBytes());
+    }
+}
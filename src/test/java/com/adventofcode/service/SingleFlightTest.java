@@ -0,0 +1,103 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.generators.Generators;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Identical requests arriving together share a single solve.
+ */
+public class SingleFlightTest {
+
+    @Test
+    public void testIdenticalRequestsSolveOnce() throws Exception {
+        var service = SolverServiceTest.newService();
+        var input = PuzzleInput.fromBytes(
+                Generators.INSTANCE.get(Day.DAY_6).generate(40, 2024).getBytes(StandardCharsets.UTF_8));
+        int requests = 8;
+        var start = new CountDownLatch(1);
+
+        List<Future<String>> answers = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; ++i) {
+                answers.add(clients.submit(() -> {
+                    start.await();
+                    return service.solve(Day.DAY_6, Part.PART_2, input, SolverParameters.NONE);
+                }));
+            }
+            start.countDown();
+
+            String expected = answers.get(0).get();
+            for (var answer : answers) {
+                assertEquals(expected, answer.get());
+            }
+        }
+
+        // Whether the others waited for the first solve or found its answer
+        // in the cache, the puzzle was only solved once
+        var part = service.metrics().parts().stream()
+                .filter(snapshot -> snapshot.day() == 6 && snapshot.part() == 2)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(requests, part.requests());
+        assertEquals(1, part.solve().count());
+    }
+
+    @Test
+    public void testWaiterTakesOverCancelledSolve() throws Exception {
+        var service = SolverServiceTest.newService();
+        // Big enough that the first request is still solving when cancelled
+        String text = Generators.INSTANCE.get(Day.DAY_6).generate(300, 2024);
+        var input = PuzzleInput.fromBytes(text.getBytes(StandardCharsets.UTF_8));
+        var leaderThread = new AtomicReference<Thread>();
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = clients.submit(() -> {
+                leaderThread.set(Thread.currentThread());
+                return service.solve(Day.DAY_6, Part.PART_2, input, SolverParameters.NONE);
+            });
+            awaitRequests(service, 1);
+
+            Future<String> waiter = clients.submit(
+                    () -> service.solve(Day.DAY_6, Part.PART_2, input, SolverParameters.NONE));
+            awaitRequests(service, 2);
+            // Like a request timeout does
+            leaderThread.get().interrupt();
+
+            var failure = assertThrows(ExecutionException.class, () -> leader.get(30, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof CancellationException, "Leader got " + failure.getCause());
+            assertEquals(String.valueOf(SolverRegistry.INSTANCE.get(Day.DAY_6).solvePart2(text)),
+                    waiter.get(60, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void awaitRequests(SolverService service, long requests) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (service.metrics().parts().stream()
+                .filter(snapshot -> snapshot.day() == 6 && snapshot.part() == 2)
+                .mapToLong(SolverMetrics.PartSnapshot::requests)
+                .sum() < requests) {
+            assertTrue(System.nanoTime() < deadline, "The requests did not start in time");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.adventofcode.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.generators.Generators;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+import jakarta.ws.rs.BadRequestException;
+
+public class SolverServiceTest {
+
+    static SolverService newService() {
+        return new SolverService(256, 1 << 20, Optional.of(2), 16, Optional.of(2),
+                1500, 10403, Duration.ofMinutes(10),
+                new AdmissionController(16, 8, 32, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    public void testInvalidDay14RangeRejected() {
+        var service = newService();
+        var input = PuzzleInput.fromBytes(
+                Generators.INSTANCE.get(Day.DAY_14).generate(20, 2024).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> service.solve(Day.DAY_14, Part.PART_2, input,
+                new SolverParameters(Optional.of(50), Optional.of(0), false)));
+        assertThrows(BadRequestException.class, () -> service.solve(Day.DAY_14, Part.PART_2, input,
+                new SolverParameters(Optional.of(-1), Optional.empty(), false)));
+    }
+
+    @Test
+    public void testDay14RangeIgnoredByPart1() {
+        var service = newService();
+        var input = PuzzleInput.fromBytes(
+                Generators.INSTANCE.get(Day.DAY_14).generate(20, 2024).getBytes(StandardCharsets.UTF_8));
+
+        String answer = service.solve(Day.DAY_14, Part.PART_1, input, SolverParameters.NONE);
+        // Not even an inverted range matters, as part 1 does not search
+        assertEquals(answer, service.solve(Day.DAY_14, Part.PART_1, input,
+                new SolverParameters(Optional.of(50), Optional.of(0), true)));
+
+        var part = service.metrics().parts().stream()
+                .filter(snapshot -> snapshot.day() == 14 && snapshot.part() == 1)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, part.solve().count());
+    }
+
+    @Test
+    public void testParsedInputReusedByPart2() {
+        var service = newService();
+        var input = PuzzleInput.fromBytes(
+                Generators.INSTANCE.get(Day.DAY_6).generate(40, 2024).getBytes(StandardCharsets.UTF_8));
+
+        service.solve(Day.DAY_6, Part.PART_1, input, SolverParameters.NONE);
+        service.solve(Day.DAY_6, Part.PART_2, input, SolverParameters.NONE);
+
+        var parts = service.metrics().parts().stream()
+                .filter(snapshot -> snapshot.day() == 6)
+                .toList();
+        // Part 2 found the lab that part 1 parsed
+        assertEquals(1, parts.stream().mapToLong(snapshot -> snapshot.parse().count()).sum());
+        assertEquals(2, parts.stream().mapToLong(snapshot -> snapshot.solve().count()).sum());
+    }
+}
@@ -0,0 +1,103 @@
+package com.adventofcode.solutions;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.generators.Generators;
+import com.adventofcode.service.ExecutionContext;
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.util.Constants.Day;
+
+/**
+ * Guards against solvers allocating much more than they used to. The
+ * budgets, in bytes per solve of a generated input, are kept in
+ * allocation-budgets.properties. Parts without a budget are not checked.
+ *
+ * Run with -Dallocation.report=true to print what every budgeted part
+ * allocates now, e.g. to lower the budgets after an optimization.
+ */
+public class AllocationBudgetTest {
+    static final String BUDGETS = "allocation-budgets.properties";
+    static final Pattern KEY = Pattern.compile("day(\\d+)\\.part([12])");
+    static final int SIZE = 20;
+    static final long SEED = 2024;
+    // Runs before measuring, so that the JIT compiler gets the chance to
+    // optimize allocations away, as it would in production
+    static final int WARM_UP_RUNS = 3;
+    static final int MEASURED_RUNS = 3;
+
+    @Test
+    @DisplayName("Should allocate within the budget of every day")
+    void testAllocationBudgets() throws IOException {
+        Map<String, Long> budgets = loadBudgets();
+        assertFalse(budgets.isEmpty(), "No allocation budgets found");
+
+        boolean report = Boolean.getBoolean("allocation.report");
+        List<String> exceeded = new ArrayList<>();
+
+        for (var entry : budgets.entrySet()) {
+            Matcher matcher = KEY.matcher(entry.getKey());
+            assertTrue(matcher.matches(), "Invalid key " + entry.getKey());
+
+            Day day = Day.fromInteger(Integer.parseInt(matcher.group(1)));
+            boolean part1 = matcher.group(2).equals("1");
+            long allocated = measure(day, part1);
+
+            if (report)
+                System.out.println(entry.getKey() + "=" + allocated);
+            if (allocated > entry.getValue())
+                exceeded.add(entry.getKey() + " allocated " + allocated + " bytes, budget is " + entry.getValue());
+        }
+
+        assertTrue(exceeded.isEmpty(), String.join("\n", exceeded));
+    }
+
+    /**
+     * Bytes allocated by the least allocating of a few solves, counting
+     * every thread the solve runs on.
+     */
+    static long measure(Day day, boolean part1) {
+        String input = Generators.INSTANCE.get(day).generate(SIZE, SEED);
+        var solver = SolverRegistry.INSTANCE.get(day);
+        var context = new ExecutionContext(2);
+
+        long least = Long.MAX_VALUE;
+        for (int run = 0; run < WARM_UP_RUNS + MEASURED_RUNS; ++run) {
+            var measured = context.runMeasured(() -> part1 ? solver.solvePart1(input) : solver.solvePart2(input));
+            long allocated = measured.usage().allocatedBytes();
+
+            assertTrue(allocated >= 0, "Allocations cannot be measured on this JVM");
+            if (run >= WARM_UP_RUNS)
+                least = Math.min(least, allocated);
+        }
+
+        return least;
+    }
+
+    static Map<String, Long> loadBudgets() throws IOException {
+        var properties = new Properties();
+        try (InputStream stream = AllocationBudgetTest.class.getClassLoader().getResourceAsStream(BUDGETS)) {
+            if (stream != null)
+                properties.load(stream);
+        }
+
+        Map<String, Long> budgets = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            budgets.put(key, Long.parseLong(properties.getProperty(key).trim()));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,172 @@
+package com.adventofcode.solutions;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.adventofcode.generators.Generators;
+import com.adventofcode.service.SolverRegistry;
+import com.adventofcode.util.Constants.Day;
+import com.adventofcode.util.Constants.Part;
+
+/**
+ * Catches accidentally super-linear solvers. Every part is timed on
+ * generated inputs of growing sizes, and the exponent of the running time
+ * as a function of the input length, i.e. the slope of the log-log curve,
+ * must not exceed the declared one by more than the tolerance.
+ *
+ * Timings are noisy, so a part that fails is measured a second time before
+ * being reported. Days 17 and 18 are left out, as their inputs do not grow
+ * with the generator size.
+ *
+ * Being based on wall-clock time, it is tagged "perf" and left out of the
+ * default test run, see the perf profile in the pom.
+ */
+@Tag("perf")
+public class ComplexityScalingTest {
+    static final long SEED = 2024;
+    static final double TOLERANCE = 0.5;
+    static final int WARM_UP_RUNS = 2;
+    static final int MEASURED_RUNS = 5;
+
+    /**
+     * @param exponent Expected growth of the running time with the length
+     *                 of the input, e.g. 1 for linear
+     * @param sizes    Generator sizes to time, each input about twice as
+     *                 long as the previous one
+     */
+    record Scaling(Day day, Part part, double exponent, int... sizes) {
+        @Override
+        public String toString() {
+            return day + ", " + part;
+        }
+    }
+
+    static final int[] GRID_SIDES = { 20, 28, 40, 57, 80 };
+
+    static final List<Scaling> SCALINGS = List.of(
+            new Scaling(Day.DAY_1, Part.PART_1, 1, 500, 1000, 2000, 4000, 8000),
+            new Scaling(Day.DAY_1, Part.PART_2, 1, 500, 1000, 2000, 4000, 8000),
+            new Scaling(Day.DAY_2, Part.PART_1, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_2, Part.PART_2, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_3, Part.PART_1, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_3, Part.PART_2, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_4, Part.PART_1, 1, 30, 42, 60, 85, 120),
+            new Scaling(Day.DAY_4, Part.PART_2, 1, 30, 42, 60, 85, 120),
+            new Scaling(Day.DAY_5, Part.PART_1, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_5, Part.PART_2, 1, 250, 500, 1000, 2000, 4000),
+            new Scaling(Day.DAY_6, Part.PART_1, 1, GRID_SIDES),
+            // Walks the whole path again for every obstacle placed on it
+            new Scaling(Day.DAY_6, Part.PART_2, 1.5, 20, 28, 40, 57),
+            new Scaling(Day.DAY_7, Part.PART_1, 1, 25, 50, 100, 200, 400),
+            new Scaling(Day.DAY_7, Part.PART_2, 1, 25, 50, 100, 200),
+            // Goes through every pair of antennas of the same frequency
+            new Scaling(Day.DAY_8, Part.PART_1, 2, GRID_SIDES),
+            new Scaling(Day.DAY_8, Part.PART_2, 2, GRID_SIDES),
+            new Scaling(Day.DAY_9, Part.PART_1, 1, 1250, 2500, 5000, 10000, 20000),
+            new Scaling(Day.DAY_9, Part.PART_2, 1, 1250, 2500, 5000, 10000, 20000),
+            new Scaling(Day.DAY_10, Part.PART_1, 1, 10, 14, 20, 28, 40),
+            // Follows every trail, and there can be many more trails than cells
+            new Scaling(Day.DAY_10, Part.PART_2, 2, 10, 14, 20, 28, 40),
+            new Scaling(Day.DAY_11, Part.PART_1, 1, 2, 4, 8, 16),
+            new Scaling(Day.DAY_11, Part.PART_2, 1, 2, 4, 8, 16),
+            new Scaling(Day.DAY_12, Part.PART_1, 1, 10, 14, 20, 28, 40),
+            new Scaling(Day.DAY_12, Part.PART_2, 1, 10, 14, 20, 28, 40),
+            new Scaling(Day.DAY_13, Part.PART_1, 1, 50, 100, 200, 400, 800),
+            new Scaling(Day.DAY_13, Part.PART_2, 1, 50, 100, 200, 400, 800),
+            new Scaling(Day.DAY_14, Part.PART_1, 1, 25, 50, 100, 200, 400),
+            new Scaling(Day.DAY_14, Part.PART_2, 1, 25, 50, 100, 200),
+            new Scaling(Day.DAY_15, Part.PART_1, 1, 5, 10, 20, 40),
+            // Copies the whole warehouse for every box of a vertical push, and
+            // both the warehouse and the number of moves grow with the input
+            new Scaling(Day.DAY_15, Part.PART_2, 2, 5, 10, 20, 40),
+            new Scaling(Day.DAY_16, Part.PART_1, 1, 6, 8, 11, 16, 22),
+            // Searches again from every cell of the best paths
+            new Scaling(Day.DAY_16, Part.PART_2, 2, 6, 8, 11, 16, 22),
+            // Linear in the number of designs, but the towel patterns at the top
+            // do not grow with them, so the input length grows more slowly
+            new Scaling(Day.DAY_19, Part.PART_1, 1.5, 50, 100, 200, 400, 800),
+            new Scaling(Day.DAY_19, Part.PART_2, 1.5, 50, 100, 200, 400));
+
+    @Test
+    @DisplayName("Should not grow faster than the declared complexity")
+    void testScaling() {
+        List<String> failures = new ArrayList<>();
+
+        for (Scaling scaling : SCALINGS) {
+            double exponent = measureExponent(scaling);
+            if (exponent > scaling.exponent() + TOLERANCE)
+                exponent = Math.min(exponent, measureExponent(scaling));
+
+            if (exponent > scaling.exponent() + TOLERANCE)
+                failures.add(String.format("%s grows with exponent %.2f, expected at most %.1f",
+                        scaling, exponent, scaling.exponent()));
+        }
+
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /**
+     * Slope of the least-squares line through the logarithms of the input
+     * lengths and of the running times.
+     */
+    static double measureExponent(Scaling scaling) {
+        var solver = SolverRegistry.INSTANCE.get(scaling.day());
+        var generator = Generators.INSTANCE.get(scaling.day());
+
+        List<String> inputs = new ArrayList<>();
+        for (int size : scaling.sizes()) {
+            inputs.add(generator.generate(size, SEED));
+        }
+
+        for (int run = 0; run < WARM_UP_RUNS; ++run) {
+            for (String input : inputs) {
+                solve(solver, scaling.part(), input);
+            }
+        }
+
+        int points = inputs.size();
+        double[] x = new double[points];
+        double[] y = new double[points];
+        for (int i = 0; i < points; ++i) {
+            long fastest = Long.MAX_VALUE;
+            for (int run = 0; run < MEASURED_RUNS; ++run) {
+                fastest = Math.min(fastest, solve(solver, scaling.part(), inputs.get(i)));
+            }
+            x[i] = Math.log(inputs.get(i).length());
+            y[i] = Math.log(fastest);
+        }
+
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < points; ++i) {
+            meanX += x[i] / points;
+            meanY += y[i] / points;
+        }
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < points; ++i) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+
+        return covariance / variance;
+    }
+
+    static long solve(Solver<?, ?> solver, Part part, String input) {
+        long startTime = System.nanoTime();
+
+        switch (part) {
+            case PART_1 -> solver.solvePart1(input);
+            case PART_2 -> solver.solvePart2(input);
+        }
+
+        return System.nanoTime() - startTime;
+    }
+}
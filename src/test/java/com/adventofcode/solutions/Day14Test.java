@@ -1,6 +1,8 @@
 package com.adventofcode.solutions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,4 +38,44 @@ public class Day14Test {
     void testSolverPart2() {
         // Code almost untestable, just test manually if you touch the solution
     }
+
+    @Test
+    @DisplayName("Should resume the visualization from the cached iteration")
+    void testResumeFromCache() {
+        Day14Cache.INSTANCE.clear();
+        String fromScratch = lastFrame(solver.withIterations(0, 6, true).solvePart2(input));
+
+        Day14Cache.INSTANCE.clear();
+        // An empty range reaches its end without moving the robots
+        solver.withIterations(0, 5, false).solvePart2(input);
+        solver.withIterations(5, 5, false).solvePart2(input);
+        String resumed = lastFrame(solver.withIterations(5, 6, true).solvePart2(input));
+
+        assertEquals(fromScratch, resumed);
+    }
+
+    @Test
+    @DisplayName("Should not share cached robots between different inputs")
+    void testCacheKeyedByInput() {
+        Day14Cache.INSTANCE.clear();
+        String otherInput = input.replace("p=0,4", "p=1,4");
+
+        String frame = solver.withIterations(0, 3, true).solvePart2(input);
+        String otherFrame = solver.withIterations(0, 3, true).solvePart2(otherInput);
+
+        assertNotEquals(lastFrame(frame), lastFrame(otherFrame));
+        assertNotEquals(lastFrame(solver.withIterations(3, 4, true).solvePart2(input)),
+                lastFrame(solver.withIterations(3, 4, true).solvePart2(otherInput)));
+    }
+
+    @Test
+    @DisplayName("Should reject negative and inverted ranges of iterations")
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> solver.withIterations(-1, 5, false));
+        assertThrows(IllegalArgumentException.class, () -> solver.withIterations(50, 0, false));
+    }
+
+    private static String lastFrame(String frames) {
+        return frames.substring(frames.lastIndexOf("Iteration"));
+    }
 }
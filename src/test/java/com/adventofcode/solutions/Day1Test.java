@@ -5,7 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 public class Day1Test {
-    Solver<Integer, Integer> solver = Day1.INSTANCE;
+    Solver<Long, Long> solver = Day1.INSTANCE;
 
     @Test
     @DisplayName("Should solve the example given in part 1")
@@ -18,7 +18,7 @@ public class Day1Test {
                 3   9
                 3   3""";
 
-        assertEquals(11, solver.solvePart1(input));
+        assertEquals(11L, solver.solvePart1(input));
     }
 
     @Test
@@ -32,6 +32,16 @@ public class Day1Test {
                 3   9
                 3   3""";
 
-        assertEquals(31, solver.solvePart2(input));
+        assertEquals(31L, solver.solvePart2(input));
+    }
+
+    @Test
+    @DisplayName("Should not overflow on inputs with many lines")
+    void testLargeSums() {
+        String input = "10000   99999\n".repeat(30_000);
+
+        assertEquals(30_000L * 89_999, solver.solvePart1(input));
+        assertEquals(0L, solver.solvePart2(input));
+        assertEquals(30_000L * 99_999 * 30_000, solver.solvePart2("99999   99999\n".repeat(30_000)));
     }
 }
@@ -6,7 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 public class Day6Test {
-    Day6 solver = new Day6();
+    Day6 solver = Day6.INSTANCE;
 
     String input = """
             ....#.....
@@ -6,7 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 public class Day8Test {
-    Day8 solver = new Day8();
+    Day8 solver = Day8.INSTANCE;
 
     String input = """
             ............
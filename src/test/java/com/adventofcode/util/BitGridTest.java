@@ -0,0 +1,64 @@
+package com.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BitGridTest {
+    @Test
+    void testCells() {
+        // Spans more than one word
+        var visited = new BitGrid(10, 10);
+
+        assertTrue(visited.isEmpty());
+        assertTrue(visited.add(0));
+        assertTrue(visited.add(99));
+        assertFalse(visited.add(99));
+        assertTrue(visited.contains(99));
+        assertFalse(visited.contains(50));
+        assertEquals(2, visited.cardinality());
+
+        visited.remove(0);
+
+        assertFalse(visited.contains(0));
+        assertEquals(1, visited.cardinality());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> visited.add(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> visited.contains(-1));
+    }
+
+    @Test
+    void testDirections() {
+        var visited = BitGrid.perDirection(3, 3);
+
+        assertTrue(visited.add(4, Direction.UP));
+        assertTrue(visited.add(4, Direction.LEFT));
+        assertFalse(visited.add(4, Direction.UP));
+        assertTrue(visited.contains(4, Direction.LEFT));
+        assertFalse(visited.contains(4, Direction.DOWN));
+        assertFalse(visited.contains(5, Direction.UP));
+        assertEquals(2, visited.cardinality());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> visited.add(0, 4));
+    }
+
+    @Test
+    void testClear() {
+        var visited = new BitGrid(100, 100);
+
+        for (int round = 0; round < 3; ++round) {
+            assertTrue(visited.add(round * 1000));
+            assertTrue(visited.add(round * 1000 + 4321));
+            assertEquals(2, visited.cardinality());
+
+            visited.clear();
+
+            assertTrue(visited.isEmpty());
+            assertFalse(visited.contains(round * 1000));
+            assertFalse(visited.contains(round * 1000 + 4321));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+public class CancellationTokenTest {
+    @Test
+    void testNoTokenBound() {
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+
+        CancellationToken.NONE.cancel();
+        assertFalse(CancellationToken.NONE.isCancelled());
+    }
+
+    @Test
+    void testRunWithBindsAndRestores() {
+        var outer = CancellationToken.forCurrentThread();
+        var inner = CancellationToken.forCurrentThread();
+
+        outer.runWith(() -> {
+            assertSame(outer, CancellationToken.current());
+            inner.runWith(() -> {
+                assertSame(inner, CancellationToken.current());
+                return null;
+            });
+            assertSame(outer, CancellationToken.current());
+            return null;
+        });
+
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+    }
+
+    @Test
+    void testCancel() {
+        var token = CancellationToken.forCurrentThread();
+        token.throwIfCancelled();
+
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertThrows(CancellationException.class, token::throwIfCancelled);
+    }
+
+    @Test
+    void testOwnerInterrupted() {
+        var token = CancellationToken.forCurrentThread();
+        assertFalse(token.isCancelled());
+
+        // Like a request timeout does to the thread that started the solve
+        Thread.currentThread().interrupt();
+        try {
+            assertTrue(token.isCancelled());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertFalse(token.isCancelled());
+    }
+}
@@ -0,0 +1,36 @@
+package com.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class DigestsTest {
+    @Test
+    void testKnownDigest() {
+        String expected = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+        assertEquals(expected, Digests.sha256Hex("abc"));
+        assertEquals(expected, Digests.sha256Hex(ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testTextMatchesEncodedBytes() {
+        // Longer than the encoding chunk, with characters of several bytes
+        // straddling its boundaries
+        String text = "p=0,4 v=3,-3 é€😀\n".repeat(2000);
+
+        assertEquals(Digests.sha256Hex(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))),
+                Digests.sha256Hex(text));
+    }
+
+    @Test
+    void testBufferPositionUntouched() {
+        var buffer = ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8));
+        Digests.sha256Hex(buffer);
+
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,102 @@
+package com.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class GridTest {
+
+    String input = """
+            #S.#
+            ..#.
+            E...""";
+
+    @Test
+    void testParse() {
+        var grid = Grid.parse(input);
+
+        assertEquals(4, grid.width());
+        assertEquals(3, grid.height());
+        assertEquals(12, grid.size());
+        assertEquals('S', grid.get(1, 0));
+        assertEquals('E', grid.get(PackedPoint.of(0, 2)));
+        assertEquals('#', grid.getAt(grid.index(2, 1)));
+        assertEquals('#', grid.getOrDefault(-1, 0, '#'));
+        assertEquals(1, grid.find('S'));
+        assertEquals(-1, grid.find('O'));
+        assertEquals(3, grid.count('#'));
+        assertEquals(input + "\n", grid.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> Grid.parse("..\n..."));
+    }
+
+    @Test
+    void testSetAndCopy() {
+        var grid = Grid.parse(input);
+        var copy = grid.copy();
+
+        assertEquals(grid, copy);
+
+        grid.set(1, 0, '.');
+        grid.set(PackedPoint.of(3, 2), 'O');
+
+        assertEquals('.', grid.get(1, 0));
+        assertEquals('S', copy.get(1, 0));
+        assertNotEquals(grid, copy);
+
+        grid.copyFrom(copy);
+
+        assertEquals(copy, grid);
+        assertThrows(IllegalArgumentException.class, () -> grid.copyFrom(new Grid(2, 2, '.')));
+    }
+
+    @Test
+    void testNeighbours() {
+        var grid = new Grid(3, 3, '.');
+        int center = grid.index(1, 1);
+        int corner = grid.index(0, 0);
+
+        assertEquals(grid.index(1, 0), grid.neighbour(center, Direction.UP));
+        assertEquals(grid.index(2, 1), grid.neighbour(center, Direction.RIGHT));
+        assertEquals(-1, grid.neighbour(corner, Direction.LEFT));
+        assertEquals(-1, grid.neighbour(grid.index(2, 0), Direction.RIGHT));
+
+        List<Integer> neighbours = new ArrayList<>();
+        grid.forEachNeighbour(corner, neighbours::add);
+        assertEquals(List.of(grid.index(1, 0), grid.index(0, 1)), neighbours);
+
+        neighbours.clear();
+        grid.forEachNeighbour8(center, neighbours::add);
+        assertEquals(8, neighbours.size());
+        assertFalse(neighbours.contains(center));
+
+        neighbours.clear();
+        grid.forEachNeighbour8(corner, neighbours::add);
+        assertEquals(List.of(grid.index(1, 0), grid.index(1, 1), grid.index(0, 1)), neighbours);
+    }
+
+    @Test
+    void testRowsAndColumns() {
+        var grid = Grid.parse(input);
+
+        assertEquals("..#.", grid.row(1).toString());
+        assertEquals("#.E", grid.column(0).toString());
+        assertEquals(".#", grid.row(1).subSequence(1, 3).toString());
+        assertTrue(grid.column(3).toString().startsWith("#"));
+
+        // Views follow the grid
+        var row = grid.row(0);
+        grid.set(0, 0, '.');
+        assertEquals('.', row.charAt(0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.row(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.column(0).charAt(3));
+    }
+}
@@ -0,0 +1,62 @@
+package com.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PackedPointTest {
+    @Test
+    void testCoordinates() {
+        long point = PackedPoint.of(3, 4);
+
+        assertEquals(3, PackedPoint.x(point));
+        assertEquals(4, PackedPoint.y(point));
+        assertEquals(new Pair<>(3, 4), PackedPoint.toPair(point));
+        assertEquals(point, PackedPoint.fromPair(new Pair<>(3, 4)));
+        assertEquals("(3, 4)", PackedPoint.toString(point));
+
+        long negative = PackedPoint.of(-1, -7);
+
+        assertEquals(-1, PackedPoint.x(negative));
+        assertEquals(-7, PackedPoint.y(negative));
+    }
+
+    @Test
+    void testMove() {
+        long point = PackedPoint.of(0, 0);
+
+        for (Direction direction : Direction.values()) {
+            long moved = PackedPoint.move(point, direction);
+
+            assertEquals(Pair.sum(new Pair<>(0, 0), direction.asPair()), PackedPoint.toPair(moved));
+            assertEquals(point, PackedPoint.move(moved, direction.rotate180()));
+        }
+
+        assertEquals(PackedPoint.of(2, -3), PackedPoint.plus(point, 2, -3));
+        assertEquals(5, PackedPoint.manhattanDistance(point, PackedPoint.of(2, -3)));
+    }
+
+    @Test
+    void testBoundsAndIndex() {
+        int columns = 5;
+        int rows = 3;
+
+        assertTrue(PackedPoint.isInBounds(PackedPoint.of(4, 2), columns, rows));
+        assertFalse(PackedPoint.isInBounds(PackedPoint.of(5, 2), columns, rows));
+        assertFalse(PackedPoint.isInBounds(PackedPoint.of(0, -1), columns, rows));
+        assertFalse(PackedPoint.isInBounds(PackedPoint.of(-1, 0), columns, rows));
+
+        for (int index = 0; index < columns * rows; ++index) {
+            assertEquals(index, PackedPoint.index(PackedPoint.fromIndex(index, columns), columns));
+        }
+        assertEquals(13, PackedPoint.index(PackedPoint.of(3, 2), columns));
+    }
+
+    @Test
+    void testRowMajorOrder() {
+        assertTrue(PackedPoint.of(4, 0) < PackedPoint.of(0, 1));
+        assertTrue(PackedPoint.of(1, 1) < PackedPoint.of(2, 1));
+    }
+}
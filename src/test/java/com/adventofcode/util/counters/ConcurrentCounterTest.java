@@ -0,0 +1,74 @@
+package com.adventofcode.util.counters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentCounterTest {
+    @Test
+    void testParallelCounting() {
+        var counter = new ConcurrentCounter<Integer>();
+
+        IntStream.range(0, 100_000)
+                .parallel()
+                .forEach(value -> {
+                    counter.increment(value % 10);
+                    counter.incrementBy(-1, 2L);
+                });
+
+        assertEquals(300_000, counter.total());
+        assertEquals(200_000, counter.get(-1));
+        for (int key = 0; key < 10; ++key) {
+            assertEquals(10_000, counter.get(key));
+        }
+    }
+
+    @Test
+    void testParallelDecrements() {
+        var counter = new ConcurrentCounter<String>();
+        counter.incrementBy("stone", 1000L);
+
+        // Twice as many decrements as the count, which must stop at zero
+        IntStream.range(0, 2000)
+                .parallel()
+                .forEach(value -> counter.decrement("stone"));
+
+        assertEquals(0, counter.get("stone"));
+    }
+
+    @Test
+    void testDecrementBy() {
+        var counter = new ConcurrentCounter<>(List.of("a", "a", "a", "b"));
+
+        counter.decrementBy("a", 2L);
+        counter.decrementBy("b", 1L);
+        counter.decrementBy("b", 1L);
+        counter.decrementBy("c", 1L);
+
+        assertEquals(1, counter.get("a"));
+        assertEquals(0, counter.get("b"));
+        assertEquals(0, counter.get("c"));
+        assertThrows(IllegalArgumentException.class, () -> counter.put("a", -1L));
+    }
+
+    @Test
+    void testSnapshotAndMerge() {
+        var counter = new ConcurrentCounter<>(List.of(1L, 1L, 2L));
+        var snapshot = counter.snapshot();
+
+        counter.increment(3L);
+        counter.merge(Map.of(1L, 5L, 4L, 1L));
+
+        assertEquals(Map.of(1L, 2L, 2L, 1L), snapshot);
+        assertEquals(Map.of(1L, 7L, 2L, 1L, 3L, 1L, 4L, 1L), counter.snapshot());
+        assertEquals(counter.snapshot(), counter);
+        assertEquals(10, counter.total());
+        assertEquals(7L, counter.put(1L, 3L));
+        assertEquals(3L, counter.remove(1L));
+    }
+}
@@ -0,0 +1,126 @@
+package com.adventofcode.util.counters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class OpenAddressingCounterTest {
+    @Test
+    void testCounting() {
+        var counter = new LongCounter();
+
+        counter.incrementBy(2024L, 3);
+        counter.increment(7L);
+        counter.increment(7L);
+        counter.decrement(7L);
+
+        assertEquals(3, counter.get(2024L));
+        assertEquals(1, counter.get(7L));
+        assertEquals(0, counter.get(8L));
+        assertEquals(4, counter.total());
+        assertEquals(2, counter.size());
+    }
+
+    @Test
+    void testGrowth() {
+        // Starts with the minimum capacity and has to grow several times
+        var counter = new LongCounter();
+
+        for (long key = 0; key < 10_000; ++key) {
+            counter.incrementBy(key * 1_000_003L, key);
+        }
+
+        assertEquals(10_000, counter.size());
+        for (long key = 0; key < 10_000; ++key) {
+            assertEquals(key, counter.get(key * 1_000_003L));
+        }
+    }
+
+    @Test
+    void testRemoval() {
+        var counter = new LongCounter();
+        for (long key = 0; key < 1000; ++key) {
+            counter.increment(key);
+        }
+
+        // Removing keys leaves holes in the probe sequences of the others
+        for (long key = 0; key < 1000; key += 3) {
+            assertEquals(1L, counter.remove(key));
+        }
+
+        assertEquals(666, counter.size());
+        for (long key = 0; key < 1000; ++key) {
+            assertEquals(key % 3 == 0 ? 0 : 1, counter.get(key));
+        }
+        assertEquals(null, counter.remove(0L));
+    }
+
+    @Test
+    void testMerge() {
+        var first = new IntCounter();
+        var second = new IntCounter();
+
+        first.incrementBy(-5, 2);
+        first.increment(3);
+        second.incrementBy(-5, 4);
+        second.increment(Integer.MIN_VALUE);
+
+        first.merge(second);
+
+        Map<Integer, Long> counts = new HashMap<>();
+        first.forEachCount(counts::put);
+
+        assertEquals(Map.of(-5, 6L, 3, 1L, Integer.MIN_VALUE, 1L), counts);
+        assertEquals(8, first.total());
+        // The other counter is left untouched
+        assertEquals(5, second.total());
+    }
+
+    @Test
+    void testNegativeCounts() {
+        var counter = new LongCounter();
+        counter.incrementBy(1L, 2);
+
+        counter.decrementBy(1L, 3);
+        counter.decrement(2L);
+
+        assertEquals(2, counter.get(1L));
+        assertEquals(0, counter.get(2L));
+        assertThrows(IllegalArgumentException.class, () -> counter.put(1L, -1L));
+    }
+
+    @Test
+    void testEntries() {
+        var counter = new IntCounter();
+        for (int key = 0; key < 100; ++key) {
+            counter.incrementBy(key, key);
+        }
+
+        var entries = counter.entrySet().iterator();
+        while (entries.hasNext()) {
+            var entry = entries.next();
+            if (entry.getKey() % 2 == 0) {
+                entries.remove();
+            } else {
+                entry.setValue(entry.getValue() + 1);
+            }
+        }
+
+        assertEquals(50, counter.size());
+        assertFalse(counter.keySet().contains(10));
+        assertTrue(counter.keySet().contains(11));
+        assertEquals(12, counter.get(11));
+
+        counter.clear();
+
+        assertTrue(counter.isEmpty());
+        assertEquals(0, counter.get(11));
+        assertEquals("Counter{}", counter.toString());
+    }
+}